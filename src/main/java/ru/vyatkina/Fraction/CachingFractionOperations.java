@@ -0,0 +1,273 @@
+package ru.vyatkina.Fraction;
+
+import ru.vyatkina.Fraction.Interfaces.FractionOperations;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+
+/**
+ * Кеширующая обертка над арифметикой дробей для нагрузок, где одни и те же пары операндов повторяются.
+ * Ключ - операция и упакованные в long числитель и знаменатель обоих операндов,
+ * поэтому поиск не создает объектов и не вызывает НОД.
+ * Кеш разбит на сегменты с отдельной блокировкой; внутри сегмента записи лежат в массивах
+ * с открытой адресацией, вытеснение - по алгоритму CLOCK (второй шанс для недавно использованных записей).
+ * Исключения операций (например, деление на ноль) не кешируются.
+ * @param <T> тип дроби
+ */
+public final class CachingFractionOperations<T extends FractionOperations<T>> {
+    private static final byte ADD = 0;
+    private static final byte SUBTRACT = 1;
+    private static final byte MULTIPLY = 2;
+    private static final byte DIVIDE = 3;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final ToIntFunction<T> numerator;
+    private final ToIntFunction<T> denominator;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Статистика работы кеша.
+     * @param hits количество операций, результат которых взят из кеша
+     * @param misses количество вычисленных операций
+     * @param evictions количество вытесненных результатов
+     */
+    public record Statistics(long hits, long misses, long evictions) {
+
+        /**
+         * Возвращает долю попаданий.
+         * @return доля попаданий от 0 до 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Создает кеш.
+     * @param capacity максимальное количество хранимых результатов (больше нуля)
+     * @param numerator функция получения числителя (например, Fraction4::getNumerator)
+     * @param denominator функция получения знаменателя (например, Fraction4::getDenominator)
+     * @throws IllegalArgumentException если емкость не положительна
+     */
+    public CachingFractionOperations(int capacity, ToIntFunction<T> numerator, ToIntFunction<T> denominator) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Емкость кеша должна быть положительной");
+        }
+        this.numerator = Objects.requireNonNull(numerator, "Функция числителя не может быть null");
+        this.denominator = Objects.requireNonNull(denominator, "Функция знаменателя не может быть null");
+        int segmentCount = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors() * 4, capacity));
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+        int segmentCapacity = Math.max(1, capacity / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Складывает дроби с использованием кеша.
+     * @param left первое слагаемое
+     * @param right второе слагаемое
+     * @return сумма
+     */
+    public T add(T left, T right) {
+        return compute(ADD, left, right);
+    }
+
+    /**
+     * Вычитает дроби с использованием кеша.
+     * @param left уменьшаемое
+     * @param right вычитаемое
+     * @return разность
+     */
+    public T subtract(T left, T right) {
+        return compute(SUBTRACT, left, right);
+    }
+
+    /**
+     * Умножает дроби с использованием кеша.
+     * @param left первый множитель
+     * @param right второй множитель
+     * @return произведение
+     */
+    public T multiply(T left, T right) {
+        return compute(MULTIPLY, left, right);
+    }
+
+    /**
+     * Делит дроби с использованием кеша.
+     * @param left делимое
+     * @param right делитель
+     * @return частное
+     */
+    public T divide(T left, T right) {
+        return compute(DIVIDE, left, right);
+    }
+
+    /**
+     * Возвращает текущую статистику кеша.
+     * @return статистика попаданий, промахов и вытеснений
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Ищет результат в кеше или вычисляет и сохраняет его.
+     */
+    private T compute(byte operation, T left, T right) {
+        Objects.requireNonNull(left, "Дробь не может быть null");
+        Objects.requireNonNull(right, "Дробь не может быть null");
+        long leftKey = pack(left);
+        long rightKey = pack(right);
+        int hash = hash(operation, leftKey, rightKey);
+        Segment segment = segments[segmentShift == Integer.SIZE ? 0 : hash >>> segmentShift];
+
+        @SuppressWarnings("unchecked")
+        T cached = (T) segment.get(operation, leftKey, rightKey, hash);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        T result = switch (operation) {
+            case ADD -> left.add(right);
+            case SUBTRACT -> left.subtract(right);
+            case MULTIPLY -> left.multiply(right);
+            default -> left.divide(right);
+        };
+        if (segment.put(operation, leftKey, rightKey, hash, result)) {
+            evictions.increment();
+        }
+        return result;
+    }
+
+    private long pack(T fraction) {
+        return ((long) numerator.applyAsInt(fraction) << 32) | (denominator.applyAsInt(fraction) & 0xFFFFFFFFL);
+    }
+
+    private static int hash(byte operation, long left, long right) {
+        long h = left * 0x9E3779B97F4A7C15L + right;
+        h = (h ^ (h >>> 32) ^ operation) * 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 31));
+    }
+
+    /**
+     * Сегмент кеша: записи в параллельных массивах, индекс с линейным пробированием,
+     * вытеснение стрелкой CLOCK по записям.
+     */
+    private static final class Segment {
+        private static final int EMPTY = 0;
+
+        private final int capacity;
+        private final byte[] operations;
+        private final long[] lefts;
+        private final long[] rights;
+        private final int[] hashes;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private final int[] table;
+        private final int mask;
+        private int size;
+        private int hand;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.operations = new byte[capacity];
+            this.lefts = new long[capacity];
+            this.rights = new long[capacity];
+            this.hashes = new int[capacity];
+            this.values = new Object[capacity];
+            this.referenced = new boolean[capacity];
+            int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            this.table = new int[tableSize];
+            this.mask = tableSize - 1;
+        }
+
+        synchronized Object get(byte operation, long left, long right, int hash) {
+            for (int i = hash & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+                int entry = table[i] - 1;
+                if (hashes[entry] == hash && lefts[entry] == left && rights[entry] == right
+                        && operations[entry] == operation) {
+                    referenced[entry] = true;
+                    return values[entry];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Сохраняет результат.
+         * @return true если для этого пришлось вытеснить другой результат
+         */
+        synchronized boolean put(byte operation, long left, long right, int hash, Object value) {
+            for (int i = hash & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+                int entry = table[i] - 1;
+                if (hashes[entry] == hash && lefts[entry] == left && rights[entry] == right
+                        && operations[entry] == operation) {
+                    return false;
+                }
+            }
+            boolean evicted = size == capacity;
+            int entry = evicted ? evict() : size++;
+            operations[entry] = operation;
+            lefts[entry] = left;
+            rights[entry] = right;
+            hashes[entry] = hash;
+            values[entry] = value;
+            referenced[entry] = false;
+            int i = hash & mask;
+            while (table[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table[i] = entry + 1;
+            return evicted;
+        }
+
+        /**
+         * Выбирает запись для вытеснения: стрелка пропускает записи с признаком использования,
+         * снимая этот признак, и останавливается на первой записи без него.
+         */
+        private int evict() {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = hand + 1 == capacity ? 0 : hand + 1;
+            }
+            int victim = hand;
+            hand = hand + 1 == capacity ? 0 : hand + 1;
+            removeFromTable(victim);
+            values[victim] = null;
+            return victim;
+        }
+
+        /**
+         * Удаляет запись из индекса со сдвигом следующих элементов цепочки (без надгробий).
+         */
+        private void removeFromTable(int entry) {
+            int i = hashes[entry] & mask;
+            while (table[i] != entry + 1) {
+                i = (i + 1) & mask;
+            }
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (table[j] == EMPTY) {
+                    break;
+                }
+                int home = hashes[table[j] - 1] & mask;
+                boolean inRange = i <= j ? i < home && home <= j : i < home || home <= j;
+                if (!inRange) {
+                    table[i] = table[j];
+                    i = j;
+                }
+            }
+            table[i] = EMPTY;
+        }
+    }
+}
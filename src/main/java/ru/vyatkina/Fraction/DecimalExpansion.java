@@ -0,0 +1,311 @@
+package ru.vyatkina.Fraction;
+
+import ru.vyatkina.Power.Exponentiation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+
+/**
+ * Точная десятичная запись дроби с выделением периода, например 1/6 = "0.1(6)".
+ * Цифры вычисляются делением в столбик по остаткам, без BigDecimal и без хранения уже выданных цифр,
+ * и пишутся в Appendable через буфер фиксированного размера.
+ * Длина предпериода равна наибольшей из степеней 2 и 5 в знаменателе, длина периода - порядку 10
+ * по модулю взаимно простой с 10 части знаменателя q. Порядок вычисляется через разложение
+ * функции Эйлера φ(q) и возведение в степень по модулю, а для слишком больших q - поиском цикла
+ * остатков методом Брента (не дальше требуемой точности).
+ */
+public final class DecimalExpansion {
+    private static final long MAX_DENOMINATOR = Long.MAX_VALUE / 10;
+    private static final long FACTORIZATION_LIMIT = 1_000_000_000_000L;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int DEFAULT_PRECISION = 50;
+    private static final String TRUNCATED = "...";
+
+    private final boolean negative;
+    private final long integerPart;
+    private final long remainder;
+    private final long denominator;
+    private final int preperiodLength;
+    private final long coprimePart;
+
+    private DecimalExpansion(long numerator, long denominator) {
+        long gcd = gcd(Math.abs(numerator), denominator);
+        numerator /= gcd;
+        denominator /= gcd;
+        this.negative = numerator < 0;
+        this.integerPart = Math.abs(numerator) / denominator;
+        this.remainder = Math.abs(numerator) % denominator;
+        this.denominator = denominator;
+
+        int twos = Long.numberOfTrailingZeros(denominator);
+        long rest = denominator >> twos;
+        int fives = 0;
+        while (rest % 5 == 0) {
+            rest /= 5;
+            fives++;
+        }
+        this.preperiodLength = Math.max(twos, fives);
+        this.coprimePart = rest;
+    }
+
+    /**
+     * Создает десятичную запись дроби numerator/denominator.
+     * @param numerator числитель (не Long.MIN_VALUE)
+     * @param denominator знаменатель (не ноль, по модулю не больше Long.MAX_VALUE / 10)
+     * @return десятичная запись
+     * @throws IllegalArgumentException если знаменатель равен нулю или аргументы вне допустимого диапазона
+     */
+    public static DecimalExpansion of(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Знаменатель не может быть нулевым");
+        }
+        if (numerator == Long.MIN_VALUE || Math.abs(denominator) > MAX_DENOMINATOR) {
+            throw new IllegalArgumentException("Числитель или знаменатель слишком велик");
+        }
+        return denominator < 0 ? new DecimalExpansion(-numerator, -denominator)
+                : new DecimalExpansion(numerator, denominator);
+    }
+
+    /**
+     * Создает десятичную запись дроби.
+     * @param fraction дробь (не может быть null)
+     * @return десятичная запись
+     */
+    public static DecimalExpansion of(Fraction3 fraction) {
+        Objects.requireNonNull(fraction, "Дробь не может быть null");
+        return of(fraction.getNumerator(), fraction.getDenominator());
+    }
+
+    /**
+     * Создает десятичную запись дроби.
+     * @param fraction дробь (не может быть null)
+     * @return десятичная запись
+     */
+    public static DecimalExpansion of(Fraction4 fraction) {
+        Objects.requireNonNull(fraction, "Дробь не может быть null");
+        return of(fraction.getNumerator(), fraction.getDenominator());
+    }
+
+    /**
+     * Проверяет, конечна ли десятичная запись.
+     * @return true если дробь записывается конечной десятичной дробью
+     */
+    public boolean isTerminating() {
+        return coprimePart == 1;
+    }
+
+    /**
+     * Возвращает количество цифр после запятой до начала периода.
+     * @return длина предпериода
+     */
+    public int getPreperiodLength() {
+        return preperiodLength;
+    }
+
+    /**
+     * Возвращает длину периода.
+     * Для знаменателей больше 10^12 период ищется перебором остатков, что занимает порядка длины периода шагов.
+     * @return длина периода (0 для конечной записи)
+     */
+    public long getPeriodLength() {
+        return periodLength(Long.MAX_VALUE);
+    }
+
+    /**
+     * Возвращает итератор по цифрам после запятой (для периодической записи - бесконечный).
+     * @return итератор цифр
+     */
+    public PrimitiveIterator.OfInt digits() {
+        return new PrimitiveIterator.OfInt() {
+            private long current = remainder;
+
+            @Override
+            public boolean hasNext() {
+                return current != 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (current == 0) {
+                    throw new NoSuchElementException("Десятичная запись закончилась");
+                }
+                long scaled = current * 10;
+                current = scaled % denominator;
+                return (int) (scaled / denominator);
+            }
+        };
+    }
+
+    /**
+     * Пишет десятичную запись не более чем с precision цифрами после запятой.
+     * Период заключается в скобки, если предпериод и период помещаются в precision цифр;
+     * иначе выводятся первые precision цифр и "...".
+     * @param out приемник (не может быть null)
+     * @param precision максимальное количество цифр после запятой (не меньше нуля)
+     * @throws IOException при ошибке записи
+     * @throws IllegalArgumentException если точность отрицательна
+     */
+    public void formatTo(Appendable out, int precision) throws IOException {
+        Objects.requireNonNull(out, "Приемник не может быть null");
+        if (precision < 0) {
+            throw new IllegalArgumentException("Точность не может быть отрицательной");
+        }
+        if (negative) {
+            out.append('-');
+        }
+        out.append(Long.toString(integerPart));
+        if (remainder == 0) {
+            return;
+        }
+        long period = periodLength(precision);
+        boolean complete = period >= 0 && preperiodLength + period <= precision;
+        long digitCount = complete ? preperiodLength + period : precision;
+        if (digitCount == 0) {
+            out.append(TRUNCATED);
+            return;
+        }
+
+        char[] buffer = new char[(int) Math.min(BUFFER_SIZE, digitCount + 3)];
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        int length = 0;
+        buffer[length++] = '.';
+        long current = remainder;
+        for (long i = 0; i < digitCount; i++) {
+            if (length + 2 > buffer.length) {
+                out.append(chars, 0, length);
+                length = 0;
+            }
+            if (complete && period > 0 && i == preperiodLength) {
+                buffer[length++] = '(';
+            }
+            long scaled = current * 10;
+            buffer[length++] = (char) ('0' + scaled / denominator);
+            current = scaled % denominator;
+        }
+        out.append(chars, 0, length);
+        if (!complete) {
+            out.append(TRUNCATED);
+        } else if (period > 0) {
+            out.append(')');
+        }
+    }
+
+    /**
+     * Возвращает десятичную запись с указанной точностью.
+     * @param precision максимальное количество цифр после запятой
+     * @return десятичная запись
+     */
+    public String toString(int precision) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            formatTo(sb, precision);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Возвращает десятичную запись не более чем с 50 цифрами после запятой.
+     * @return десятичная запись
+     */
+    @Override
+    public String toString() {
+        return toString(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Вычисляет длину периода.
+     * @param limit граница, после которой поиск цикла можно прекратить
+     * @return длина периода или -1, если она больше limit (только для поиска цикла)
+     */
+    private long periodLength(long limit) {
+        if (coprimePart == 1) {
+            return 0;
+        }
+        if (coprimePart <= FACTORIZATION_LIMIT) {
+            return multiplicativeOrderOfTen(coprimePart);
+        }
+        return brentCycleLength(limit);
+    }
+
+    /**
+     * Порядок 10 по модулю q: делитель φ(q), из которого исключены лишние простые множители.
+     */
+    private static long multiplicativeOrderOfTen(long q) {
+        long order = eulerPhi(q);
+        long rest = order;
+        for (long p = 2; p * p <= rest; p++) {
+            if (rest % p == 0) {
+                while (rest % p == 0) {
+                    rest /= p;
+                }
+                while (order % p == 0 && Exponentiation.modPow(10, order / p, q) == 1) {
+                    order /= p;
+                }
+            }
+        }
+        if (rest > 1 && Exponentiation.modPow(10, order / rest, q) == 1) {
+            order /= rest;
+        }
+        return order;
+    }
+
+    private static long eulerPhi(long n) {
+        long result = n;
+        for (long p = 2; p * p <= n; p++) {
+            if (n % p == 0) {
+                while (n % p == 0) {
+                    n /= p;
+                }
+                result -= result / p;
+            }
+        }
+        if (n > 1) {
+            result -= result / n;
+        }
+        return result;
+    }
+
+    /**
+     * Длина цикла последовательности остатков r -> 10r mod d методом Брента.
+     * Метод находит цикл длины λ после хвоста длины μ не более чем за 3(λ + μ) + 2 шагов,
+     * поэтому поиск прекращается только после этой границы для λ = limit.
+     * @param limit максимальная интересующая длина цикла
+     * @return длина цикла или -1, если цикл не найден за разумное число шагов
+     */
+    private long brentCycleLength(long limit) {
+        long maxSteps = limit >= Long.MAX_VALUE / 4 ? Long.MAX_VALUE : 3 * (limit + preperiodLength) + 2;
+        long power = 1;
+        long length = 1;
+        long tortoise = remainder;
+        long hare = remainder * 10 % denominator;
+        for (long steps = 0; tortoise != hare; steps++) {
+            if (steps > maxSteps) {
+                return -1;
+            }
+            if (power == length) {
+                tortoise = hare;
+                power <<= 1;
+                length = 0;
+            }
+            hare = hare * 10 % denominator;
+            length++;
+        }
+        return length <= limit ? length : -1;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long temp = b;
+            b = a % b;
+            a = temp;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,311 @@
+package ru.vyatkina.Fraction;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Ленивый генератор последовательности Фарея порядка N: все несократимые дроби со знаменателем
+ * не больше N в порядке возрастания.
+ * Следующий член вычисляется по двум предыдущим за O(1) без вычисления НОД:
+ * для соседних a/b, c/d следующий равен (k*c - a)/(k*d - b), где k = (N + b) / d.
+ * Кроме полного отрезка [0/1, 1/1] можно перечислить поддерево Штерна-Броко между двумя
+ * соседними дробями L и R (все дроби строго между ними).
+ * Дроби выдаются упакованными в long (числитель в старших 32 битах, знаменатель в младших),
+ * см. {@link #numerator(long)} и {@link #denominator(long)}; объекты не создаются.
+ * Сплитератор делится по медианте (a+c)/(b+d) границ, поэтому подходит для параллельных потоков.
+ */
+public final class FareySequence {
+    private static final double DENSITY = 3 / (Math.PI * Math.PI);
+
+    private final int order;
+    private final int leftNumerator;
+    private final int leftDenominator;
+    private final int rightNumerator;
+    private final int rightDenominator;
+    private final boolean includeBounds;
+
+    private FareySequence(int order, int a, int b, int c, int d, boolean includeBounds) {
+        this.order = order;
+        this.leftNumerator = a;
+        this.leftDenominator = b;
+        this.rightNumerator = c;
+        this.rightDenominator = d;
+        this.includeBounds = includeBounds;
+    }
+
+    /**
+     * Создает последовательность Фарея порядка N (от 0/1 до 1/1 включительно).
+     * @param order порядок N (больше нуля)
+     * @return последовательность
+     * @throws IllegalArgumentException если порядок не положителен
+     */
+    public static FareySequence of(int order) {
+        requireOrder(order);
+        return new FareySequence(order, 0, 1, 1, 1, true);
+    }
+
+    /**
+     * Создает перечисление поддерева Штерна-Броко между соседними дробями a/b и c/d:
+     * все несократимые дроби строго между ними со знаменателем не больше N.
+     * @param order ограничение знаменателя N (больше нуля)
+     * @param a числитель левой границы
+     * @param b знаменатель левой границы (от 1 до N)
+     * @param c числитель правой границы
+     * @param d знаменатель правой границы (от 1 до N)
+     * @return последовательность
+     * @throws IllegalArgumentException если границы не соседние (b*c - a*d != 1), знаменатели вне диапазона
+     *                                  или числители членов могут не поместиться в int (max(|a|, |c|) * N)
+     */
+    public static FareySequence sternBrocot(int order, int a, int b, int c, int d) {
+        requireOrder(order);
+        if (b < 1 || d < 1 || b > order || d > order) {
+            throw new IllegalArgumentException("Знаменатели границ должны быть от 1 до " + order);
+        }
+        if ((long) b * c - (long) a * d != 1) {
+            throw new IllegalArgumentException("Границы должны быть соседними дробями: b*c - a*d = 1");
+        }
+        if (Math.max(Math.abs((long) a), Math.abs((long) c)) * order > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Числители членов последовательности не помещаются в int");
+        }
+        return new FareySequence(order, a, b, c, d, false);
+    }
+
+    /**
+     * Возвращает числитель упакованной дроби.
+     * @param packed упакованная дробь
+     * @return числитель
+     */
+    public static int numerator(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Возвращает знаменатель упакованной дроби.
+     * @param packed упакованная дробь
+     * @return знаменатель
+     */
+    public static int denominator(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Возвращает итератор по упакованным дробям.
+     * @return новый курсор с начала последовательности
+     */
+    public Cursor iterator() {
+        return new Cursor(order, leftNumerator, leftDenominator, rightNumerator, rightDenominator,
+                includeBounds, includeBounds);
+    }
+
+    /**
+     * Возвращает делимый сплитератор по упакованным дробям.
+     * @return сплитератор
+     */
+    public Spliterator.OfLong spliterator() {
+        return new FareySpliterator(order, leftNumerator, leftDenominator, rightNumerator, rightDenominator,
+                includeBounds, includeBounds);
+    }
+
+    /**
+     * Возвращает поток упакованных дробей.
+     * @param parallel true для параллельного потока
+     * @return поток в порядке возрастания дробей
+     */
+    public LongStream stream(boolean parallel) {
+        return StreamSupport.longStream(spliterator(), parallel);
+    }
+
+    private static void requireOrder(int order) {
+        if (order < 1 || order > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Порядок должен быть от 1 до " + Integer.MAX_VALUE / 2);
+        }
+    }
+
+    private static long pack(long numerator, long denominator) {
+        return (numerator << 32) | denominator;
+    }
+
+    /**
+     * Курсор по членам последовательности на отрезке между двумя дробями последовательности.
+     * Хранит текущий член и следующий за ним. Экземпляр не потокобезопасен.
+     */
+    public static final class Cursor implements PrimitiveIterator.OfLong {
+        private final long order;
+        private final long endNumerator;
+        private final long endDenominator;
+        private final boolean includeEnd;
+        private long currentNumerator;
+        private long currentDenominator;
+        private long nextNumerator;
+        private long nextDenominator;
+        private boolean finished;
+
+        Cursor(int order, int a, int b, int c, int d, boolean includeStart, boolean includeEnd) {
+            this.order = order;
+            this.endNumerator = c;
+            this.endDenominator = d;
+            this.includeEnd = includeEnd;
+            this.currentNumerator = a;
+            this.currentDenominator = b;
+            // следующий за a/b член внутри (a/b, c/d]: повторная медианта (k*a + c)/(k*b + d)
+            long k = (order - d) / b;
+            this.nextNumerator = k * a + c;
+            this.nextDenominator = k * b + d;
+            if (!includeStart) {
+                step();
+            }
+            checkEnd();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !finished;
+        }
+
+        @Override
+        public long nextLong() {
+            if (finished) {
+                throw new NoSuchElementException("Последовательность закончилась");
+            }
+            long result = pack(currentNumerator, currentDenominator);
+            if (currentNumerator == endNumerator && currentDenominator == endDenominator) {
+                finished = true;
+            } else {
+                step();
+                checkEnd();
+            }
+            return result;
+        }
+
+        /**
+         * Записывает следующие члены в массивы числителей и знаменателей.
+         * @param numerators массив числителей
+         * @param denominators массив знаменателей
+         * @param offset позиция начала записи
+         * @param length максимальное количество членов
+         * @return количество записанных членов (0, если последовательность закончилась)
+         * @throws IndexOutOfBoundsException если диапазон выходит за границы массивов
+         */
+        public int fill(int[] numerators, int[] denominators, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, numerators.length);
+            Objects.checkFromIndexSize(offset, length, denominators.length);
+            int count = 0;
+            while (count < length && !finished) {
+                numerators[offset + count] = (int) currentNumerator;
+                denominators[offset + count] = (int) currentDenominator;
+                count++;
+                if (currentNumerator == endNumerator && currentDenominator == endDenominator) {
+                    finished = true;
+                } else {
+                    step();
+                    checkEnd();
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            Objects.requireNonNull(action, "Действие не может быть null");
+            while (!finished) {
+                action.accept(nextLong());
+            }
+        }
+
+        private void step() {
+            long k = (order + currentDenominator) / nextDenominator;
+            long numerator = k * nextNumerator - currentNumerator;
+            long denominator = k * nextDenominator - currentDenominator;
+            currentNumerator = nextNumerator;
+            currentDenominator = nextDenominator;
+            nextNumerator = numerator;
+            nextDenominator = denominator;
+        }
+
+        private void checkEnd() {
+            if (!includeEnd && currentNumerator == endNumerator && currentDenominator == endDenominator) {
+                finished = true;
+            }
+        }
+    }
+
+    /**
+     * Сплитератор по отрезку между соседними дробями a/b и c/d.
+     * До начала обхода делится по медианте: левая часть - [a/b, медианта), правая - [медианта, c/d].
+     */
+    private static final class FareySpliterator implements Spliterator.OfLong {
+        private final int order;
+        private int a;
+        private int b;
+        private final int c;
+        private final int d;
+        private boolean includeStart;
+        private final boolean includeEnd;
+        private Cursor cursor;
+
+        FareySpliterator(int order, int a, int b, int c, int d, boolean includeStart, boolean includeEnd) {
+            this.order = order;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.includeStart = includeStart;
+            this.includeEnd = includeEnd;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            if (cursor != null || b + d > order) {
+                return null;
+            }
+            int mediantNumerator = a + c;
+            int mediantDenominator = b + d;
+            FareySpliterator prefix = new FareySpliterator(order, a, b, mediantNumerator, mediantDenominator,
+                    includeStart, false);
+            a = mediantNumerator;
+            b = mediantDenominator;
+            includeStart = true;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            Objects.requireNonNull(action, "Действие не может быть null");
+            Cursor current = cursor();
+            if (!current.hasNext()) {
+                return false;
+            }
+            action.accept(current.nextLong());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            cursor().forEachRemaining(action);
+        }
+
+        @Override
+        public long estimateSize() {
+            double width = (double) c / d - (double) a / b;
+            return (long) (width * DENSITY * order * order) + 2;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | IMMUTABLE;
+        }
+
+        private Cursor cursor() {
+            if (cursor == null) {
+                cursor = new Cursor(order, a, b, c, d, includeStart, includeEnd);
+            }
+            return cursor;
+        }
+    }
+}
@@ -112,6 +112,22 @@ public class Fraction1 implements FractionOperations<Fraction1> {
         return a;
     }
 
+    /**
+     * Возвращает числитель дроби.
+     * @return числитель дроби
+     */
+    public int getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Возвращает знаменатель дроби.
+     * @return знаменатель дроби (всегда положительный)
+     */
+    public int getDenominator() {
+        return denominator;
+    }
+
     @Override
     public String toString() {
         return numerator + "/" + denominator;
@@ -151,6 +151,24 @@ public final class Fraction3 extends Number implements Serializable, FractionOpe
         );
     }
 
+    /**
+     * Возвращает числитель дроби.
+     *
+     * @return числитель дроби
+     */
+    public int getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Возвращает знаменатель дроби.
+     *
+     * @return знаменатель дроби (всегда положительный)
+     */
+    public int getDenominator() {
+        return denominator;
+    }
+
     /**
      * Возвращает строковое представление дроби в формате "числитель/знаменатель".
      *
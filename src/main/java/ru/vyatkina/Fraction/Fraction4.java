@@ -71,6 +71,24 @@ public final class Fraction4 extends Number implements Serializable, FractionOpe
         return b == 0 ? a : computeGCD(b, a % b);
     }
 
+    /**
+     * Возвращает числитель дроби.
+     *
+     * @return числитель дроби
+     */
+    public int getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Возвращает знаменатель дроби.
+     *
+     * @return знаменатель дроби (всегда положительный)
+     */
+    public int getDenominator() {
+        return denominator;
+    }
+
     /**
      * Возвращает строковое представление дроби в формате "числитель/знаменатель".
      *
@@ -124,6 +124,29 @@ public class Fraction5 implements Cloneable, FractionOperations<Fraction5> {
         return numerator + "/" + denominator;
     }
 
+    /**
+     * Возвращает сокращенную дробь с положительным знаменателем.
+     * Вычисления ведутся в long, поэтому знаменатель Integer.MIN_VALUE не переполняется при смене знака.
+     *
+     * @return нормализованная дробь (эта же дробь, если она уже нормализована)
+     * @throws ArithmeticException если положительный знаменатель не помещается в int (например, 1/-2147483648)
+     */
+    public Fraction5 normalized() {
+        long a = Math.abs((long) numerator);
+        long b = Math.abs((long) denominator);
+        while (b != 0) {
+            long temp = b;
+            b = a % b;
+            a = temp;
+        }
+        long gcd = a == 0 ? 1 : a;
+        long sign = denominator < 0 ? -1 : 1;
+        if (gcd == 1 && sign == 1) {
+            return this;
+        }
+        return new Fraction5(Math.toIntExact(sign * numerator / gcd), Math.toIntExact(sign * denominator / gcd));
+    }
+
     /**
      * Возвращает числитель дроби.
      *
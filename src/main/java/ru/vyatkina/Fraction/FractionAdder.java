@@ -0,0 +1,274 @@
+package ru.vyatkina.Fraction;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+
+/**
+ * Потокобезопасный сумматор дробей по образцу {@link java.util.concurrent.atomic.LongAdder}.
+ * Частичные суммы хранятся в ячейках, разнесенных по разным строкам кеша; поток добавляет слагаемое
+ * в свою ячейку через CAS неизменяемой частичной суммы, а при конфликте переходит к другой ячейке.
+ * Частичные суммы хранятся точно: в long, а при переполнении - в BigInteger.
+ * {@link #sum()} складывает все ячейки точно. Как и у LongAdder, сумма во время параллельных
+ * добавлений не является атомарным снимком.
+ */
+public final class FractionAdder {
+    private static final VarHandle VALUE;
+    private static final Partial ZERO = new Partial(0, 1, null, null);
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(
+            () -> new int[]{mix((int) Thread.currentThread().threadId())});
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(CellValue.class, "value", Partial.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Cell[] cells;
+    private final int mask;
+
+    /**
+     * Создает сумматор с количеством ячеек по числу процессоров.
+     */
+    public FractionAdder() {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.cells = new Cell[count];
+        this.mask = count - 1;
+        for (int i = 0; i < count; i++) {
+            cells[i] = new Cell();
+        }
+    }
+
+    /**
+     * Добавляет дробь.
+     * @param fraction слагаемое (не может быть null)
+     */
+    public void add(Fraction4 fraction) {
+        Objects.requireNonNull(fraction, "Дробь не может быть null");
+        add(fraction.getNumerator(), fraction.getDenominator());
+    }
+
+    /**
+     * Добавляет дробь numerator/denominator.
+     * @param numerator числитель
+     * @param denominator знаменатель (не может быть нулем)
+     * @throws IllegalArgumentException если знаменатель равен нулю
+     */
+    public void add(int numerator, int denominator) {
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Знаменатель не может быть нулевым");
+        }
+        // знак переносится после расширения до long: -Integer.MIN_VALUE в int переполняется
+        long n = denominator < 0 ? -(long) numerator : numerator;
+        long d = Math.abs((long) denominator);
+        int[] probe = PROBE.get();
+        while (true) {
+            Cell cell = cells[probe[0] & mask];
+            Partial current = cell.value;
+            if (VALUE.compareAndSet(cell, current, current.plus(n, d))) {
+                return;
+            }
+            probe[0] = advance(probe[0]);
+        }
+    }
+
+    /**
+     * Возвращает точную сумму всех добавленных дробей.
+     * @return сумма в виде несократимой дроби
+     * @throws ArithmeticException если числитель или знаменатель суммы не помещается в int
+     */
+    public Fraction4 sum() {
+        Partial total = ZERO;
+        for (Cell cell : cells) {
+            total = total.plus(cell.value);
+        }
+        return total.toFraction();
+    }
+
+    /**
+     * Возвращает точную сумму и обнуляет ячейки. Добавления, идущие одновременно с вызовом,
+     * попадают либо в возвращенную сумму, либо в следующую.
+     * @return сумма в виде несократимой дроби
+     * @throws ArithmeticException если числитель или знаменатель суммы не помещается в int
+     *                             (сумма при этом возвращается в сумматор и не теряется)
+     */
+    public Fraction4 sumThenReset() {
+        Partial total = ZERO;
+        for (Cell cell : cells) {
+            total = total.plus((Partial) VALUE.getAndSet(cell, ZERO));
+        }
+        try {
+            return total.toFraction();
+        } catch (ArithmeticException e) {
+            restore(total);
+            throw e;
+        }
+    }
+
+    /**
+     * Добавляет изъятую частичную сумму обратно в ячейку текущего потока.
+     * @param partial частичная сумма
+     */
+    private void restore(Partial partial) {
+        int[] probe = PROBE.get();
+        while (true) {
+            Cell cell = cells[probe[0] & mask];
+            Partial current = cell.value;
+            if (VALUE.compareAndSet(cell, current, current.plus(partial))) {
+                return;
+            }
+            probe[0] = advance(probe[0]);
+        }
+    }
+
+    /**
+     * Обнуляет сумматор.
+     */
+    public void reset() {
+        for (Cell cell : cells) {
+            VALUE.setVolatile(cell, ZERO);
+        }
+    }
+
+    /**
+     * Возвращает приближенное значение суммы.
+     * @return сумма в виде double
+     */
+    public double doubleValue() {
+        Partial total = ZERO;
+        for (Cell cell : cells) {
+            total = total.plus(cell.value);
+        }
+        return total.doubleValue();
+    }
+
+    /**
+     * Возвращает точную сумму в формате "числитель/знаменатель" (без ограничения на размер).
+     * @return строковое представление суммы
+     */
+    @Override
+    public String toString() {
+        Partial total = ZERO;
+        for (Cell cell : cells) {
+            total = total.plus(cell.value);
+        }
+        return total.toString();
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int advance(int probe) {
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        return probe ^ (probe << 5);
+    }
+
+    /**
+     * Неизменяемая несократимая частичная сумма со знаменателем больше нуля.
+     * Пока значения помещаются в long, BigInteger-поля равны null.
+     */
+    private static final class Partial {
+        private final long numerator;
+        private final long denominator;
+        private final BigInteger bigNumerator;
+        private final BigInteger bigDenominator;
+
+        Partial(long numerator, long denominator, BigInteger bigNumerator, BigInteger bigDenominator) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.bigNumerator = bigNumerator;
+            this.bigDenominator = bigDenominator;
+        }
+
+        Partial plus(long otherNumerator, long otherDenominator) {
+            if (bigNumerator == null) {
+                try {
+                    long gcd = gcd(denominator, otherDenominator);
+                    long sumNumerator = Math.addExact(Math.multiplyExact(numerator, otherDenominator / gcd),
+                            Math.multiplyExact(otherNumerator, denominator / gcd));
+                    long sumDenominator = Math.multiplyExact(denominator / gcd, otherDenominator);
+                    long reduce = gcd(Math.absExact(sumNumerator), sumDenominator);
+                    return new Partial(sumNumerator / reduce, sumDenominator / reduce, null, null);
+                } catch (ArithmeticException overflow) {
+                    // продолжаем в BigInteger
+                }
+            }
+            return plusBig(BigInteger.valueOf(otherNumerator), BigInteger.valueOf(otherDenominator));
+        }
+
+        Partial plus(Partial other) {
+            if (other.bigNumerator == null) {
+                return plus(other.numerator, other.denominator);
+            }
+            return plusBig(other.bigNumerator, other.bigDenominator);
+        }
+
+        private Partial plusBig(BigInteger otherNumerator, BigInteger otherDenominator) {
+            BigInteger n = bigNumerator != null ? bigNumerator : BigInteger.valueOf(numerator);
+            BigInteger d = bigDenominator != null ? bigDenominator : BigInteger.valueOf(denominator);
+            BigInteger sumNumerator = n.multiply(otherDenominator).add(otherNumerator.multiply(d));
+            BigInteger sumDenominator = d.multiply(otherDenominator);
+            BigInteger gcd = sumNumerator.gcd(sumDenominator);
+            sumNumerator = sumNumerator.divide(gcd);
+            sumDenominator = sumDenominator.divide(gcd);
+            if (sumNumerator.bitLength() < Long.SIZE && sumDenominator.bitLength() < Long.SIZE) {
+                return new Partial(sumNumerator.longValue(), sumDenominator.longValue(), null, null);
+            }
+            return new Partial(0, 1, sumNumerator, sumDenominator);
+        }
+
+        Fraction4 toFraction() {
+            if (bigNumerator != null || numerator != (int) numerator || denominator != (int) denominator) {
+                throw new ArithmeticException("Сумма " + this + " не помещается в Fraction4");
+            }
+            return new Fraction4((int) numerator, (int) denominator);
+        }
+
+        double doubleValue() {
+            if (bigNumerator == null) {
+                return (double) numerator / denominator;
+            }
+            return new BigDecimal(bigNumerator)
+                    .divide(new BigDecimal(bigDenominator), MathContext.DECIMAL64)
+                    .doubleValue();
+        }
+
+        @Override
+        public String toString() {
+            return bigNumerator == null ? numerator + "/" + denominator : bigNumerator + "/" + bigDenominator;
+        }
+
+        private static long gcd(long a, long b) {
+            while (b != 0) {
+                long temp = b;
+                b = a % b;
+                a = temp;
+            }
+            return a == 0 ? 1 : a;
+        }
+    }
+
+    /** Отступ перед значением ячейки, чтобы соседние ячейки не делили строку кеша. */
+    private static class CellPadding {
+        long p0, p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    /** Значение ячейки. */
+    private static class CellValue extends CellPadding {
+        volatile Partial value = ZERO;
+    }
+
+    /** Ячейка с отступами до и после значения. */
+    private static final class Cell extends CellValue {
+        long q0, q1, q2, q3, q4, q5, q6, q7;
+    }
+}
@@ -0,0 +1,469 @@
+package ru.vyatkina.Main;
+
+import ru.vyatkina.Fraction.*;
+import ru.vyatkina.Fraction.Interfaces.FractionOperations;
+import ru.vyatkina.Name.Name;
+import ru.vyatkina.Power.Exponentiation;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+import ru.vyatkina.Secret.Interfaces.SecretEventListener;
+import ru.vyatkina.Secret.Secret;
+import ru.vyatkina.Validation.InputValidator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * Пакетный (неинтерактивный) режим: выполнение команд из скрипта или стандартного ввода.
+ * Одна команда на строку, лексемы разделяются пробелами, строки с '#' в начале и пустые строки пропускаются:
+ * <pre>
+ * frac &lt;1-5&gt; &lt;+|-|*|/&gt; a/b c/d     операция над дробями указанного типа
+ * eval &lt;1-5&gt; a/b + c/d * e ...       вычисление выражения (умножение и деление выполняются раньше)
+ * name &lt;фамилия&gt; &lt;имя&gt; [отчество]     создание имени ("-" - компонент отсутствует, остальные
+ *                                       проверяются как при интерактивном вводе)
+ * secret new &lt;id&gt; &lt;хранитель&gt; &lt;текст&gt; создание секрета (имя и текст проверяются
+ *                                       как при интерактивном вводе)
+ * secret tell &lt;id&gt; &lt;хранитель&gt;         передача секрета новому хранителю (имя проверяется так же)
+ * power &lt;x&gt; &lt;y&gt;                     точное возведение целого числа в степень
+ * fpow &lt;1-5&gt; a/b &lt;n&gt;                 возведение дроби в целую (в том числе отрицательную) степень
+ * </pre>
+ * Чтение работает конвейером: отдельный поток читает строки пачками в ограниченную очередь,
+ * а вызывающий поток выполняет их и пишет результаты в буферизованный Writer.
+ * Ошибка в команде не останавливает обработку, а выводится строкой "Ошибка в строке N: ...".
+ * Экземпляр хранит созданные секреты и не потокобезопасен.
+ */
+public final class BatchProcessor {
+    private static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_TOKENS = 8;
+    private static final String[] END_OF_INPUT = new String[0];
+
+    private final Map<String, Secret> secrets = new HashMap<>();
+    private final int[] tokenStarts = new int[MAX_TOKENS];
+    private final int[] tokenEnds = new int[MAX_TOKENS];
+    private long errors;
+
+    /**
+     * Выполняет все команды из входного потока.
+     * @param in источник команд
+     * @param out приемник результатов (не закрывается, сбрасывается в конце)
+     * @return количество выполненных команд
+     * @throws IOException при ошибке чтения или записи
+     */
+    public long run(Reader in, Writer out) throws IOException {
+        BlockingQueue<String[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        IOException[] readFailure = new IOException[1];
+        Thread reader = new Thread(() -> readBatches(in, queue, readFailure), "batch-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        StringBuilder output = new StringBuilder(READ_BUFFER_SIZE);
+        long lineNumber = 0;
+        long commands = 0;
+        try {
+            while (true) {
+                String[] batch = queue.take();
+                if (batch == END_OF_INPUT) {
+                    break;
+                }
+                for (String line : batch) {
+                    if (line == null) {
+                        break;
+                    }
+                    lineNumber++;
+                    if (execute(line, lineNumber, output)) {
+                        commands++;
+                    }
+                }
+                out.append(output);
+                output.setLength(0);
+            }
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Пакетная обработка прервана", e);
+        }
+        out.flush();
+        if (readFailure[0] != null) {
+            throw readFailure[0];
+        }
+        return commands;
+    }
+
+    /**
+     * Возвращает количество команд, завершившихся ошибкой.
+     * @return количество ошибок
+     */
+    public long getErrorCount() {
+        return errors;
+    }
+
+    /**
+     * Выполняет одну команду и дописывает результат в буфер (одной строкой).
+     * @param line строка команды
+     * @param lineNumber номер строки для сообщения об ошибке
+     * @param output буфер результатов
+     * @return true если строка содержала команду, false для пустой строки или комментария
+     */
+    public boolean execute(String line, long lineNumber, StringBuilder output) {
+        int count = tokenize(line);
+        if (count == 0 || line.charAt(tokenStarts[0]) == '#') {
+            return false;
+        }
+        int length = output.length();
+        try {
+            executeTokens(line, count, output);
+        } catch (IllegalArgumentException | IllegalStateException | ArithmeticException
+                 | IndexOutOfBoundsException e) {
+            output.setLength(length);
+            output.append("Ошибка в строке ").append(lineNumber).append(": ").append(e.getMessage());
+            errors++;
+        }
+        output.append('\n');
+        return true;
+    }
+
+    /**
+     * Выполняет разобранную команду.
+     */
+    private void executeTokens(String line, int count, StringBuilder output) {
+        if (tokenIs(line, 0, "frac")) {
+            requireTokens(count, 5);
+            int type = parseInt(line, 1);
+            int slash1 = slash(line, 3);
+            int slash2 = slash(line, 4);
+            int n1 = Integer.parseInt(line, tokenStarts[3], slash1, 10);
+            int d1 = Integer.parseInt(line, slash1 + 1, tokenEnds[3], 10);
+            int n2 = Integer.parseInt(line, tokenStarts[4], slash2, 10);
+            int d2 = Integer.parseInt(line, slash2 + 1, tokenEnds[4], 10);
+            char op = operator(line);
+            output.append(switch (type) {
+                case 1 -> apply(new Fraction1(n1, d1), new Fraction1(n2, d2), op);
+                case 2 -> apply(new Fraction2(n1, d1), new Fraction2(n2, d2), op);
+                case 3 -> apply(new Fraction3(n1, d1), new Fraction3(n2, d2), op);
+                case 4 -> apply(new Fraction4(n1, d1), new Fraction4(n2, d2), op);
+                case 5 -> apply(new Fraction5(n1, d1), new Fraction5(n2, d2), op);
+                default -> throw new IllegalArgumentException("Тип дроби должен быть от 1 до 5");
+            });
+        } else if (tokenIs(line, 0, "eval")) {
+            requireTokens(count, 3);
+            int from = tokenStarts[2];
+            output.append(switch (parseInt(line, 1)) {
+                case 1 -> evaluate(line, from, Fraction1::new);
+                case 2 -> evaluate(line, from, Fraction2::new);
+                case 3 -> evaluate(line, from, Fraction3::new);
+                case 4 -> evaluate(line, from, Fraction4::new);
+                case 5 -> evaluate(line, from, Fraction5::new);
+                default -> throw new IllegalArgumentException("Тип дроби должен быть от 1 до 5");
+            });
+        } else if (tokenIs(line, 0, "name")) {
+            requireTokens(count, 3);
+            String middleName = count > 3 ? component(line, 3) : null;
+            output.append(new Name(component(line, 2), component(line, 1), middleName));
+        } else if (tokenIs(line, 0, "secret")) {
+            requireTokens(count, 4);
+            String id = token(line, 2);
+            if (tokenIs(line, 1, "new")) {
+                requireTokens(count, 5);
+                int textEnd = line.length();
+                while (textEnd > tokenStarts[4] && line.charAt(textEnd - 1) <= ' ') {
+                    textEnd--;
+                }
+                Secret secret = new Secret(validated(line, tokenStarts[3], tokenEnds[3]),
+                        validated(line, tokenStarts[4], textEnd),
+                        RandomStrategy.threadLocal(), SecretEventListener.noOp());
+                secrets.put(id, secret);
+                output.append(secret.getCurrentKeeperName()).append(": ").append(secret.getText());
+            } else if (tokenIs(line, 1, "tell")) {
+                Secret secret = secrets.get(id);
+                if (secret == null) {
+                    throw new IllegalArgumentException("Секрет " + id + " не найден");
+                }
+                Secret told = secret.tellSecretTo(validated(line, tokenStarts[3], tokenEnds[3]));
+                secrets.put(id, told);
+                output.append(told.getCurrentKeeperName()).append(": ").append(told.getText());
+            } else {
+                throw new IllegalArgumentException("Неизвестная команда секрета: " + token(line, 1));
+            }
+        } else if (tokenIs(line, 0, "power")) {
+            requireTokens(count, 3);
+            output.append(Main.power(Long.parseLong(line, tokenStarts[1], tokenEnds[1], 10), parseInt(line, 2)));
+        } else if (tokenIs(line, 0, "fpow")) {
+            requireTokens(count, 4);
+            int exponent = parseInt(line, 3);
+            int from = tokenStarts[2];
+            int to = tokenEnds[2];
+            output.append(switch (parseInt(line, 1)) {
+                case 1 -> power(line, from, to, exponent, Fraction1::new);
+                case 2 -> power(line, from, to, exponent, Fraction2::new);
+                case 3 -> power(line, from, to, exponent, Fraction3::new);
+                case 4 -> power(line, from, to, exponent, Fraction4::new);
+                case 5 -> power(line, from, to, exponent, Fraction5::new);
+                default -> throw new IllegalArgumentException("Тип дроби должен быть от 1 до 5");
+            });
+        } else {
+            throw new IllegalArgumentException("Неизвестная команда: " + token(line, 0));
+        }
+    }
+
+    /**
+     * Выполняет арифметическую операцию над двумя дробями.
+     */
+    private static <T extends FractionOperations<T>> T apply(T left, T right, char op) {
+        return switch (op) {
+            case '+' -> left.add(right);
+            case '-' -> left.subtract(right);
+            case '*' -> left.multiply(right);
+            default -> left.divide(right);
+        };
+    }
+
+    /**
+     * Вычисляет выражение из дробей (a/b) и целых чисел с операциями + - * /.
+     * Умножение и деление выполняются раньше сложения и вычитания, операции одного уровня - слева направо.
+     * @param line строка команды
+     * @param from начало выражения в строке
+     * @param factory конструктор дроби нужного типа
+     * @return значение выражения
+     */
+    private static <T extends FractionOperations<T>> T evaluate(String line, int from, FractionFactory<T> factory) {
+        T sum = null;
+        T term = null;
+        char additive = '+';
+        char multiplicative = '*';
+        boolean expectOperand = true;
+        int position = from;
+        int length = line.length();
+        while (true) {
+            while (position < length && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            if (position == length) {
+                break;
+            }
+            int end = position;
+            while (end < length && !Character.isWhitespace(line.charAt(end))) {
+                end++;
+            }
+            if (expectOperand) {
+                T operand = parseFraction(line, position, end, factory);
+                term = term == null ? operand : apply(term, operand, multiplicative);
+            } else {
+                char op = line.charAt(position);
+                if (end - position != 1 || "+-*/".indexOf(op) < 0) {
+                    throw new IllegalArgumentException("Неизвестная операция: " + line.substring(position, end));
+                }
+                if (op == '*' || op == '/') {
+                    multiplicative = op;
+                } else {
+                    sum = sum == null ? term : apply(sum, term, additive);
+                    additive = op;
+                    term = null;
+                }
+            }
+            expectOperand = !expectOperand;
+            position = end;
+        }
+        if (expectOperand) {
+            throw new IllegalArgumentException("Выражение не закончено");
+        }
+        return sum == null ? term : apply(sum, term, additive);
+    }
+
+    /**
+     * Возводит дробь из фрагмента строки в целую степень.
+     * Числитель и знаменатель сокращаются и возводятся в степень отдельно с контролем переполнения:
+     * умножение дробей в int переполняется без ошибки и дало бы неверный результат.
+     */
+    private static <T> T power(String line, int from, int to, int exponent, FractionFactory<T> factory) {
+        long numerator;
+        long denominator;
+        int slash = line.indexOf('/', from);
+        if (slash < 0 || slash >= to) {
+            numerator = Integer.parseInt(line, from, to, 10);
+            denominator = 1;
+        } else {
+            numerator = Integer.parseInt(line, from, slash, 10);
+            denominator = Integer.parseInt(line, slash + 1, to, 10);
+        }
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Знаменатель не может быть нулевым");
+        }
+        long gcd = gcd(Math.abs(numerator), Math.abs(denominator));
+        numerator /= gcd;
+        denominator /= gcd;
+        if (exponent < 0) {
+            if (numerator == 0) {
+                throw new ArithmeticException("Ноль нельзя возводить в отрицательную степень");
+            }
+            long temp = numerator;
+            numerator = denominator;
+            denominator = temp;
+        }
+        int resultNumerator;
+        int resultDenominator;
+        try {
+            int power = Math.absExact(exponent);
+            resultNumerator = Math.toIntExact(Exponentiation.powExact(numerator, power));
+            resultDenominator = Math.toIntExact(Exponentiation.powExact(denominator, power));
+        } catch (ArithmeticException overflow) {
+            throw new ArithmeticException("Результат возведения в степень " + exponent + " не помещается в int");
+        }
+        return factory.create(resultNumerator, resultDenominator);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long temp = b;
+            b = a % b;
+            a = temp;
+        }
+        return a;
+    }
+
+    /**
+     * Разбирает дробь "a/b" или целое число "a" из фрагмента строки.
+     */
+    private static <T> T parseFraction(String line, int from, int to, FractionFactory<T> factory) {
+        int slash = line.indexOf('/', from);
+        if (slash < 0 || slash >= to) {
+            return factory.create(Integer.parseInt(line, from, to, 10), 1);
+        }
+        return factory.create(Integer.parseInt(line, from, slash, 10), Integer.parseInt(line, slash + 1, to, 10));
+    }
+
+    /**
+     * Конструктор дроби заданного типа.
+     * @param <T> тип дроби
+     */
+    @FunctionalInterface
+    private interface FractionFactory<T> {
+        T create(int numerator, int denominator);
+    }
+
+    /**
+     * Читает строки пачками и передает их исполнителю.
+     * Последняя пачка может быть заполнена не полностью (оставшиеся элементы равны null).
+     */
+    private static void readBatches(Reader in, BlockingQueue<String[]> queue, IOException[] failure) {
+        BufferedReader reader = in instanceof BufferedReader buffered
+                ? buffered : new BufferedReader(in, READ_BUFFER_SIZE);
+        try {
+            String[] batch = new String[BATCH_SIZE];
+            int size = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                batch[size++] = line;
+                if (size == BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new String[BATCH_SIZE];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                queue.put(batch);
+            }
+        } catch (IOException e) {
+            failure[0] = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                queue.put(END_OF_INPUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Находит границы лексем строки без создания подстрок.
+     * Лексемы после MAX_TOKENS не размечаются; команды со свободным текстом (secret new)
+     * берут остаток строки от начала нужной лексемы.
+     * @return количество размеченных лексем (не больше MAX_TOKENS)
+     */
+    private int tokenize(String line) {
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+        while (i < length && count < MAX_TOKENS) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            tokenStarts[count] = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            tokenEnds[count++] = i;
+        }
+        return count;
+    }
+
+    private boolean tokenIs(String line, int index, String expected) {
+        int length = tokenEnds[index] - tokenStarts[index];
+        return length == expected.length() && line.regionMatches(tokenStarts[index], expected, 0, length);
+    }
+
+    private String token(String line, int index) {
+        return line.substring(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Возвращает компонент имени, проверенный по правилам {@link InputValidator} ("-" - компонент отсутствует).
+     */
+    private String component(String line, int index) {
+        if (tokenIs(line, index, "-")) {
+            return null;
+        }
+        return validated(line, tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Возвращает фрагмент строки, проверенный по правилам {@link InputValidator} (как ввод в Main).
+     * @throws IllegalArgumentException если фрагмент не проходит проверку
+     */
+    private static String validated(String line, int from, int to) {
+        InputValidator.Violation violation = InputValidator.check(line, from, to);
+        if (violation != InputValidator.Violation.NONE) {
+            throw new IllegalArgumentException(line.substring(from, to) + ": "
+                    + violation.getMessage());
+        }
+        return line.substring(from, to);
+    }
+
+    private int parseInt(String line, int index) {
+        return Integer.parseInt(line, tokenStarts[index], tokenEnds[index], 10);
+    }
+
+    private int slash(String line, int index) {
+        int slash = line.indexOf('/', tokenStarts[index]);
+        if (slash < 0 || slash >= tokenEnds[index]) {
+            throw new IllegalArgumentException("Дробь должна быть в формате a/b: " + token(line, index));
+        }
+        return slash;
+    }
+
+    private char operator(String line) {
+        char op = line.charAt(tokenStarts[2]);
+        if (tokenEnds[2] - tokenStarts[2] != 1 || "+-*/".indexOf(op) < 0) {
+            throw new IllegalArgumentException("Неизвестная операция: " + token(line, 2));
+        }
+        return op;
+    }
+
+    private static void requireTokens(int count, int required) {
+        if (count < required) {
+            throw new IllegalArgumentException("Недостаточно аргументов команды");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.vyatkina.Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Клиент локального сервиса вычислений с дробями ({@link FractionServer}).
+ * Поддерживает одиночные запросы и конвейерную отправку: команды отправляются порциями
+ * без ожидания ответа на каждую, после чего ответы читаются в том же порядке.
+ * Экземпляр не потокобезопасен.
+ */
+public final class FractionClient implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_PIPELINE_DEPTH = 256;
+
+    private final SocketChannel channel;
+    private final BufferedReader in;
+    private final Writer out;
+
+    /**
+     * Подключается к серверу.
+     * @param address адрес сервера (TCP или Unix-сокет)
+     * @throws IOException если подключиться не удалось
+     */
+    public FractionClient(SocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Адрес не может быть null");
+        this.channel = address instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open();
+        this.channel.connect(address);
+        this.in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        this.out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    /**
+     * Отправляет одну команду и ждет ответа.
+     * @param command команда (одна непустая строка)
+     * @return ответ сервера
+     * @throws IOException при ошибке обмена или закрытии соединения сервером
+     */
+    public String send(String command) throws IOException {
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        return readResponse();
+    }
+
+    /**
+     * Отправляет команды конвейером с глубиной по умолчанию.
+     * @param commands команды (непустые строки)
+     * @return ответы в порядке команд
+     * @throws IOException при ошибке обмена
+     */
+    public List<String> send(List<String> commands) throws IOException {
+        return send(commands, DEFAULT_PIPELINE_DEPTH);
+    }
+
+    /**
+     * Отправляет команды конвейером: не более pipelineDepth команд без ответа.
+     * @param commands команды (непустые строки)
+     * @param pipelineDepth глубина конвейера (больше нуля)
+     * @return ответы в порядке команд
+     * @throws IOException при ошибке обмена
+     * @throws IllegalArgumentException если глубина не положительна
+     */
+    public List<String> send(List<String> commands, int pipelineDepth) throws IOException {
+        Objects.requireNonNull(commands, "Список команд не может быть null");
+        if (pipelineDepth <= 0) {
+            throw new IllegalArgumentException("Глубина конвейера должна быть положительной");
+        }
+        List<String> responses = new ArrayList<>(commands.size());
+        for (int from = 0; from < commands.size(); from += pipelineDepth) {
+            int to = Math.min(from + pipelineDepth, commands.size());
+            for (int i = from; i < to; i++) {
+                out.write(commands.get(i));
+                out.write('\n');
+            }
+            out.flush();
+            for (int i = from; i < to; i++) {
+                responses.add(readResponse());
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Закрывает соединение.
+     * @throws IOException при ошибке закрытия
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String readResponse() throws IOException {
+        String response = in.readLine();
+        if (response == null) {
+            throw new EOFException("Сервер закрыл соединение");
+        }
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.vyatkina.Main;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Генератор нагрузки для {@link FractionServer}.
+ * Открывает несколько соединений (каждое в своем виртуальном потоке) и отправляет
+ * случайные операции над дробями конвейером заданной глубины.
+ * Задержка измеряется на клиенте для каждой порции команд и относится ко всем командам порции.
+ */
+public final class FractionLoadGenerator {
+    private static final char[] OPERATIONS = {'+', '-', '*', '/'};
+    private static final int MAX_TERM = 1000;
+
+    /**
+     * Результат нагрузочного прогона.
+     * @param requests количество выполненных команд
+     * @param errors количество ответов с ошибкой
+     * @param elapsedNanos общее время прогона
+     * @param latency сводка задержек на клиенте
+     * @param serverStatistics сводка задержек на сервере (ответ на команду stats)
+     */
+    public record Report(long requests, long errors, long elapsedNanos, String latency, String serverStatistics) {
+
+        /**
+         * Возвращает пропускную способность.
+         * @return команд в секунду
+         */
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : requests * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Команд: %d, ошибок: %d, время: %d мс, %.0f команд/с%nКлиент: %s%nСервер: %s",
+                    requests, errors, elapsedNanos / 1_000_000, throughput(), latency, serverStatistics);
+        }
+    }
+
+    private FractionLoadGenerator() {
+    }
+
+    /**
+     * Выполняет нагрузочный прогон.
+     * @param address адрес сервера
+     * @param connections количество соединений (больше нуля)
+     * @param requestsPerConnection количество команд на соединение (больше нуля)
+     * @param pipelineDepth глубина конвейера (больше нуля)
+     * @return результат прогона
+     * @throws IOException при ошибке обмена с сервером
+     * @throws IllegalArgumentException если параметры не положительны
+     */
+    public static Report run(SocketAddress address, int connections, int requestsPerConnection, int pipelineDepth)
+            throws IOException {
+        Objects.requireNonNull(address, "Адрес не может быть null");
+        if (connections <= 0 || requestsPerConnection <= 0 || pipelineDepth <= 0) {
+            throw new IllegalArgumentException("Параметры нагрузки должны быть положительными");
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = new ArrayList<>(connections);
+            for (int c = 0; c < connections; c++) {
+                long seed = c;
+                tasks.add(executor.submit(() -> {
+                    runConnection(address, requestsPerConnection, pipelineDepth, seed, latency, errors);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Нагрузочный прогон прерван", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+        long elapsed = System.nanoTime() - start;
+        String serverStatistics;
+        try (FractionClient client = new FractionClient(address)) {
+            serverStatistics = client.send("stats");
+        }
+        return new Report((long) connections * requestsPerConnection, errors.sum(), elapsed,
+                latency.summary(), serverStatistics);
+    }
+
+    private static void runConnection(SocketAddress address, int requests, int pipelineDepth, long seed,
+                                      LatencyHistogram latency, LongAdder errors) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (FractionClient client = new FractionClient(address)) {
+            List<String> commands = new ArrayList<>(pipelineDepth);
+            for (int sent = 0; sent < requests; sent += commands.size()) {
+                commands.clear();
+                for (int i = 0; i < Math.min(pipelineDepth, requests - sent); i++) {
+                    commands.add(randomCommand(random));
+                }
+                long start = System.nanoTime();
+                List<String> responses = client.send(commands, pipelineDepth);
+                latency.record(System.nanoTime() - start, commands.size());
+                for (String response : responses) {
+                    if (response.startsWith("Ошибка")) {
+                        errors.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    private static String randomCommand(SplittableRandom random) {
+        return "frac " + random.nextInt(1, 6) + ' ' + OPERATIONS[random.nextInt(OPERATIONS.length)] + ' '
+                + random.nextInt(1, MAX_TERM) + '/' + random.nextInt(1, MAX_TERM) + ' '
+                + random.nextInt(1, MAX_TERM) + '/' + random.nextInt(1, MAX_TERM);
+    }
+}
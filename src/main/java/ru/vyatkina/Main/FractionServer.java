@@ -0,0 +1,174 @@
+package ru.vyatkina.Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Локальный сервис вычислений с дробями.
+ * Слушает TCP-порт на loopback-интерфейсе или Unix-сокет, каждое соединение обслуживается в виртуальном потоке.
+ * Протокол строковый (UTF-8): на каждую входную строку возвращается ровно одна строка ответа
+ * (для пустой строки и комментария - пустая), поэтому клиент может сопоставлять ответы по порядку.
+ * Команды те же, что в пакетном режиме ({@link BatchProcessor}), плюс "stats" -
+ * процентили задержки обработки команд на сервере.
+ * Команды, пришедшие конвейером, вычитываются из буфера соединения пачкой
+ * и выполняются подряд с одной записью ответа в сокет; задержка измеряется для каждой команды отдельно.
+ */
+public final class FractionServer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final String STATS_COMMAND = "stats";
+    private static final int MAX_PORT = 0xFFFF;
+
+    private final ServerSocketChannel serverChannel;
+    private final UnixDomainSocketAddress socketFile;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Thread acceptor;
+
+    /**
+     * Запускает сервер.
+     * @param address адрес: InetSocketAddress (рекомендуется loopback) или UnixDomainSocketAddress
+     * @throws IOException если не удалось открыть сокет
+     */
+    public FractionServer(SocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Адрес не может быть null");
+        if (address instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            socketFile = unix;
+        } else {
+            serverChannel = ServerSocketChannel.open();
+            socketFile = null;
+        }
+        serverChannel.bind(address);
+        acceptor = Thread.ofPlatform().name("fraction-server-acceptor").daemon(true).start(this::acceptLoop);
+    }
+
+    /**
+     * Возвращает фактический адрес сервера (например, с выбранным системой портом).
+     * @return адрес сервера
+     * @throws IOException если сокет закрыт
+     */
+    public SocketAddress getAddress() throws IOException {
+        return serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Возвращает сводку задержек обработки команд.
+     * @return строка с количеством команд и процентилями
+     */
+    public String getStatistics() {
+        return latency.summary();
+    }
+
+    /**
+     * Ожидает завершения работы сервера.
+     * @throws InterruptedException если ожидание прервано
+     */
+    public void awaitTermination() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Останавливает прием соединений и закрывает открытые соединения.
+     * @throws IOException при ошибке закрытия сокета
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        connections.shutdownNow();
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile.getPath());
+        }
+    }
+
+    private void acceptLoop() {
+        try {
+            while (serverChannel.isOpen()) {
+                SocketChannel channel = serverChannel.accept();
+                connections.execute(() -> serve(channel));
+            }
+        } catch (ClosedChannelException e) {
+            // сервер остановлен
+        } catch (IOException e) {
+            System.err.println("Ошибка приема соединения: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Обслуживает одно соединение: у каждого соединения свой набор секретов.
+     */
+    private void serve(SocketChannel channel) {
+        BatchProcessor processor = new BatchProcessor();
+        StringBuilder output = new StringBuilder(BUFFER_SIZE);
+        try (channel;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(channel), StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     Channels.newOutputStream(channel), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                int batchSize = 0;
+                while (true) {
+                    lineNumber++;
+                    batchSize++;
+                    long start = System.nanoTime();
+                    if (line.strip().equals(STATS_COMMAND)) {
+                        output.append(latency.summary()).append('\n');
+                    } else if (processor.execute(line, lineNumber, output)) {
+                        latency.record(System.nanoTime() - start);
+                    } else {
+                        // пустая строка или комментарий: пустой ответ сохраняет соответствие строк
+                        output.append('\n');
+                    }
+                    if (batchSize >= MAX_BATCH_SIZE || !in.ready() || (line = in.readLine()) == null) {
+                        break;
+                    }
+                }
+                out.append(output);
+                out.flush();
+                output.setLength(0);
+            }
+        } catch (IOException e) {
+            // клиент закрыл соединение
+        }
+    }
+
+    /**
+     * Преобразует строку адреса: число - порт на loopback-интерфейсе, иначе путь к Unix-сокету.
+     * @param value порт или путь
+     * @return адрес сокета
+     * @throws IllegalArgumentException если порт больше 65535
+     */
+    static SocketAddress parseAddress(String value) {
+        Objects.requireNonNull(value, "Адрес не может быть null");
+        if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            if (value.length() > 5 || Integer.parseInt(value) > MAX_PORT) {
+                throw new IllegalArgumentException("Порт должен быть от 0 до " + MAX_PORT);
+            }
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(value));
+        }
+        return UnixDomainSocketAddress.of(Path.of(value));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.vyatkina.Main;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Потокобезопасная гистограмма задержек с логарифмическими корзинами.
+ * Каждая степень двойки делится на 8 корзин, поэтому относительная погрешность процентилей не больше 12.5%.
+ * Запись значения - одно атомарное увеличение счетчика без блокировок.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+
+    /**
+     * Записывает значение задержки.
+     * @param nanos задержка в наносекундах (отрицательные значения считаются нулем)
+     */
+    void record(long nanos) {
+        counts.incrementAndGet(bucket(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Записывает одно и то же значение задержки несколько раз.
+     * @param nanos задержка в наносекундах
+     * @param times количество повторений
+     */
+    void record(long nanos, int times) {
+        counts.addAndGet(bucket(Math.max(nanos, 0)), times);
+    }
+
+    /**
+     * Возвращает количество записанных значений.
+     * @return количество значений
+     */
+    long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Возвращает оценку процентиля (верхнюю границу корзины).
+     * @param percentile процентиль от 0 до 100
+     * @return задержка в наносекундах или 0, если значений нет
+     */
+    long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length() - 1);
+    }
+
+    /**
+     * Форматирует основные процентили в микросекундах.
+     * @return строка вида "count=N p50=..мкс p90=..мкс p99=..мкс p99.9=..мкс"
+     */
+    String summary() {
+        return String.format("count=%d p50=%dмкс p90=%dмкс p99=%dмкс p99.9=%dмкс", count(),
+                percentile(50) / 1000, percentile(90) / 1000, percentile(99) / 1000, percentile(99.9) / 1000);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
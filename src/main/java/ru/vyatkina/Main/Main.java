@@ -3,12 +3,25 @@ package ru.vyatkina.Main;
 import ru.vyatkina.Fraction.*;
 import ru.vyatkina.Fraction.Interfaces.FractionOperations;
 import ru.vyatkina.Name.Name;
+import ru.vyatkina.Power.Exponentiation;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+import ru.vyatkina.Secret.Interfaces.SecretEventListener;
 import ru.vyatkina.Secret.Secret;
-
+import ru.vyatkina.Validation.InputValidator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 import static java.lang.Integer.parseInt;
-import static java.lang.Math.pow;
 
 
 /**
@@ -17,32 +30,115 @@ import static java.lang.Math.pow;
  */
 public class Main {
     private static final Scanner scanner = new Scanner(System.in);
+    private static final String BATCH_FLAG = "--batch";
+    private static final String SERVER_FLAG = "--server";
+    private static final String LOAD_FLAG = "--load";
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_EXPONENT = 100_000;
 
     /**
      * Точка входа в приложение.
-     * @param args аргументы командной строки (используются для возведения в степень)
+     * @param args аргументы командной строки: два числа для возведения в степень
+     *             или "--batch [файл]" для пакетного режима (без файла команды читаются из стандартного ввода),
+     *             "--server &lt;порт|путь&gt;" для запуска сервиса,
+     *             "--load &lt;порт|путь&gt; [соединения] [команды] [конвейер]" для нагрузочного прогона
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(BATCH_FLAG)) {
+            runBatch(args.length > 1 ? Path.of(args[1]) : null);
+            return;
+        }
+        if (args.length > 1 && args[0].equals(SERVER_FLAG)) {
+            runServer(args[1]);
+            return;
+        }
+        if (args.length > 1 && args[0].equals(LOAD_FLAG)) {
+            runLoad(args);
+            return;
+        }
         if (args.length == 2) {
             try {
-                // Преобразуем строковые аргументы в Integer
-                Integer x = Integer.parseInt(args[0]);
-                Integer y = Integer.parseInt(args[1]);
+                long x = Long.parseLong(args[0]);
+                int y = parseInt(args[1]);
                 System.out.println("Результат возведения в степень: " + power(x, y));
             } catch (NumberFormatException e) {
                 System.out.println("Ошибка: неверный формат чисел в аргументах командной строки");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Ошибка: " + e.getMessage());
             }
         }
         runApplication();
     }
 
     /**
-     * Возводит число X в степень Y.
+     * Выполняет команды в пакетном режиме (см. {@link BatchProcessor}).
+     * @param script файл с командами или null для стандартного ввода
+     */
+    private static void runBatch(Path script) {
+        BatchProcessor processor = new BatchProcessor();
+        Writer out = new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        try (Reader in = script != null
+                ? Files.newBufferedReader(script, StandardCharsets.UTF_8)
+                : new InputStreamReader(System.in, StandardCharsets.UTF_8)) {
+            long commands = processor.run(in, out);
+            System.err.printf("Выполнено команд: %d, ошибок: %d%n", commands, processor.getErrorCount());
+        } catch (IOException e) {
+            System.err.println("Ошибка пакетной обработки: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Запускает сервис вычислений и работает до завершения процесса.
+     * @param address порт на loopback-интерфейсе или путь к Unix-сокету
+     */
+    private static void runServer(String address) {
+        try (FractionServer server = new FractionServer(FractionServer.parseAddress(address))) {
+            System.out.println("Сервер запущен: " + server.getAddress());
+            server.awaitTermination();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ошибка: " + e.getMessage());
+            System.out.println("Использование: --server <порт|путь к Unix-сокету>");
+        } catch (IOException e) {
+            System.err.println("Ошибка сервера: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Выполняет нагрузочный прогон сервиса и печатает результат.
+     * @param args аргументы командной строки после флага: адрес, соединения, команды на соединение, конвейер
+     */
+    private static void runLoad(String[] args) {
+        try {
+            int connections = args.length > 2 ? parseInt(args[2]) : 16;
+            int requests = args.length > 3 ? parseInt(args[3]) : 100_000;
+            int pipeline = args.length > 4 ? parseInt(args[4]) : 256;
+            System.out.println(FractionLoadGenerator.run(FractionServer.parseAddress(args[1]),
+                    connections, requests, pipeline));
+        } catch (NumberFormatException e) {
+            System.out.println("Ошибка: неверный формат чисел в аргументах командной строки");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ошибка: " + e.getMessage());
+            System.out.println("Использование: --load <порт|путь> [соединения] [команды] [конвейер]");
+        } catch (IOException e) {
+            System.err.println("Ошибка нагрузочного прогона: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Возводит число X в степень Y точно (см. {@link Exponentiation}).
+     * @param x основание
+     * @param y степень (от 0 до {@value #MAX_EXPONENT})
      * @return результат возведения X в степень Y
-     * @throws NumberFormatException если строки не содержат валидные числа
+     * @throws IllegalArgumentException если степень вне допустимого диапазона
      */
-    public static double power(Integer x, Integer y) throws NumberFormatException {
-        return pow(x, y);
+    public static BigInteger power(long x, int y) {
+        if (y > MAX_EXPONENT) {
+            throw new IllegalArgumentException("Степень не может быть больше " + MAX_EXPONENT);
+        }
+        return Exponentiation.pow(x, y);
     }
 
     /**
@@ -102,13 +198,9 @@ public class Main {
      * Выполняет операцию возведения в степень с вводом от пользователя.
      */
     private static void performPowerOperation() {
-        try {
-            Integer xStr = getIntInput("Введите основание (X): ", 0, 9);
-            Integer yStr = getIntInput("Введите степень (Y): ",0, 9);
-            System.out.println("Результат: " + power(xStr, yStr));
-        } catch (NumberFormatException e) {
-            System.out.println("Ошибка: введите целые числа");
-        }
+        int x = getIntInput("Введите основание (X): ", Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int y = getIntInput("Введите степень (Y): ", 0, MAX_EXPONENT);
+        System.out.println("Результат: " + power(x, y));
     }
 
     /**
@@ -265,7 +357,8 @@ public class Main {
         System.out.println("Создание нового секрета:");
         String keeperName = getStringInput("Введите имя хранителя: ");
         String secretText = getStringInput("Введите текст секрета: ");
-        Secret secret = new Secret(keeperName, secretText);
+        Secret secret = new Secret(keeperName, secretText, RandomStrategy.threadLocal(),
+                SecretEventListener.console());
 
         while (true) {
             displaySecretMenu();
@@ -276,7 +369,7 @@ public class Main {
                 return;
             }
 
-            handleSecretChoice(secret, choice);
+            secret = handleSecretChoice(secret, choice);
         }
     }
 
@@ -297,12 +390,17 @@ public class Main {
      * Обрабатывает выбор пользователя для работы с секретом.
      * @param secret текущий секрет
      * @param choice выбранный пункт меню
+     * @return секрет, с которым продолжается работа (новый хранитель после передачи)
      */
-    private static void handleSecretChoice(Secret secret, int choice) {
+    private static Secret handleSecretChoice(Secret secret, int choice) {
         switch (choice) {
             case 1 -> {
                 String newKeeperName = getStringInput("Введите имя нового хранителя: ");
-                secret = secret.tellSecretTo(newKeeperName);
+                try {
+                    return secret.tellSecretTo(newKeeperName);
+                } catch (IllegalArgumentException e) {
+                    System.out.println(e.getMessage());
+                }
             }
             case 2 -> System.out.println("Порядок хранителя: " + secret.getKeeperOrder());
             case 3 -> System.out.println("Количество людей, узнавших секрет после текущего хранителя: " +
@@ -327,6 +425,7 @@ public class Main {
                 }
             }
         }
+        return secret;
     }
 
     /**
@@ -399,18 +498,9 @@ public class Main {
             System.out.print(prompt);
             String input = scanner.nextLine().trim();
 
-            if (input.isEmpty()) {
-                System.out.println("Ошибка: Ввод не может быть пустым. Попробуйте снова.");
-                continue;
-            }
-
-            if (!input.matches("[a-zA-Zа-яА-ЯёЁ\\s-]+")) {
-                System.out.println("Ошибка: Введите только буквы и дефисы. Попробуйте снова.");
-                continue;
-            }
-
-            if (input.length() < 2 || input.length() > 15) {
-                System.out.println("Ошибка: Должно быть от 2 до 15 символов. Попробуйте снова.");
+            String error = InputValidator.validate(input);
+            if (error != null) {
+                System.out.println("Ошибка: " + error + " Попробуйте снова.");
                 continue;
             }
 
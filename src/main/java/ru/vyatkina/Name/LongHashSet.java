@@ -0,0 +1,78 @@
+package ru.vyatkina.Name;
+
+
+/**
+ * Множество примитивных long с открытой адресацией и линейным пробированием.
+ * Не упаковывает значения в объекты. Экземпляр не потокобезопасен.
+ */
+final class LongHashSet {
+    private static final long EMPTY = 0L;
+    private static final long ZERO_REPLACEMENT = 0x9E3779B97F4A7C15L;
+    private static final double LOAD_FACTOR = 0.5;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table;
+    private int size;
+
+    /**
+     * Создает множество с начальной емкостью.
+     * @param expectedSize ожидаемое количество элементов (емкость ограничена 2^30 ячеек)
+     */
+    LongHashSet(int expectedSize) {
+        long needed = Math.max(16, (long) (expectedSize / LOAD_FACTOR));
+        this.table = new long[(int) Math.min(MAX_CAPACITY, Long.highestOneBit(needed) * 2)];
+    }
+
+    /**
+     * Добавляет значение.
+     * @param value значение
+     * @return true если значения еще не было во множестве
+     */
+    boolean add(long value) {
+        if (value == EMPTY) {
+            value = ZERO_REPLACEMENT;
+        }
+        if (size >= table.length * LOAD_FACTOR) {
+            resize();
+        }
+        int mask = table.length - 1;
+        int slot = (int) mix(value) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Возвращает количество элементов.
+     * @return размер множества
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] old = table;
+        if (old.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Множество не может содержать больше " + MAX_CAPACITY / 2 + " элементов");
+        }
+        table = new long[old.length * 2];
+        size = 0;
+        for (long value : old) {
+            if (value != EMPTY) {
+                add(value);
+            }
+        }
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        return value ^ (value >>> 33);
+    }
+}
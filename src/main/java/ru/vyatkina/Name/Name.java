@@ -1,6 +1,8 @@
 package ru.vyatkina.Name;
 
-import java.util.Objects;
+import ru.vyatkina.Validation.InputValidator;
+
+import java.util.Arrays;
 
 
 /**
@@ -8,11 +10,25 @@ import java.util.Objects;
  * Класс для представления полного имени человека (фамилия, имя, отчество).
  * Поддерживает различные форматы вывода и проверку валидности имени.
  * Имя является неизменяемым объектом.
+ * Компоненты хранятся в одном массиве байтов в порядке "фамилия, имя, отчество":
+ * кириллица и латиница занимают по одному байту на символ (см. {@link NameEncoding}),
+ * строки создаются только при обращении к геттерам.
+ * Имена упорядочиваются по русскому алфавиту в порядке "Фамилия Имя Отчество"
+ * с помощью двоичного ключа сортировки (см. {@link #getSortKey()}).
  */
-public final class Name {
-    private final String lastName;
-    private final String firstName;
-    private final String middleName;
+public final class Name implements Comparable<Name> {
+    private static final int LAST_NAME_NULL = 1;
+    private static final int FIRST_NAME_NULL = 1 << 1;
+    private static final int MIDDLE_NAME_NULL = 1 << 2;
+    private static final int MAX_ENCODED_LENGTH = Character.MAX_VALUE;
+
+    private final byte[] data;
+    private final char firstNameOffset;
+    private final char middleNameOffset;
+    private final byte flags;
+    private volatile byte[] sortKey;
+    private String formatted;
+    private int hash;
 
     /**
      * Создает объект имени.
@@ -23,9 +39,39 @@ public final class Name {
      */
     public Name(String firstName, String lastName, String middleName) {
         validateAtLeastOneComponentPresent(firstName, lastName, middleName);
-        this.firstName = firstName;
-        this.lastName = lastName;
-        this.middleName = middleName;
+        boolean utf8 = !(NameEncoding.isSingleByte(lastName) && NameEncoding.isSingleByte(firstName)
+                && NameEncoding.isSingleByte(middleName));
+
+        int lastLength = NameEncoding.encodedLength(lastName, utf8);
+        int firstLength = NameEncoding.encodedLength(firstName, utf8);
+        int totalLength = lastLength + firstLength + NameEncoding.encodedLength(middleName, utf8);
+        if (totalLength > MAX_ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Имя слишком длинное");
+        }
+
+        this.data = new byte[totalLength];
+        NameEncoding.encode(lastName, utf8, data, 0);
+        NameEncoding.encode(firstName, utf8, data, lastLength);
+        NameEncoding.encode(middleName, utf8, data, lastLength + firstLength);
+        this.firstNameOffset = (char) lastLength;
+        this.middleNameOffset = (char) (lastLength + firstLength);
+        this.flags = (byte) ((lastName == null ? LAST_NAME_NULL : 0)
+                | (firstName == null ? FIRST_NAME_NULL : 0)
+                | (middleName == null ? MIDDLE_NAME_NULL : 0)
+                | (utf8 ? NameEncoding.UTF8 : 0));
+    }
+
+    /**
+     * Создает имя. Компоненты кодируются в один массив байтов, поэтому отдельные строки
+     * не хранятся и не требуют интернирования.
+     * @param firstName имя (может быть null или пустой строкой)
+     * @param lastName фамилия (может быть null или пустой строкой)
+     * @param middleName отчество (может быть null или пустой строкой)
+     * @return новое имя
+     * @throws IllegalArgumentException если все параметры null или пустые строки
+     */
+    public static Name of(String firstName, String lastName, String middleName) {
+        return new Name(firstName, lastName, middleName);
     }
 
     /**
@@ -35,7 +81,7 @@ public final class Name {
      */
     private void validateAtLeastOneComponentPresent(String... components) {
         for (String component : components) {
-            if (component != null && !component.trim().isEmpty()) {
+            if (!InputValidator.isBlank(component)) {
                 return;
             }
         }
@@ -44,16 +90,21 @@ public final class Name {
 
     /**
      * Возвращает строковое представление имени в формате "Фамилия Имя Отчество".
-     * Пропускает пустые компоненты.
+     * Пропускает пустые компоненты. Строка формируется при первом обращении и кешируется.
      * @return строковое представление имени
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        appendIfNotEmpty(sb, lastName);
-        appendIfNotEmpty(sb, firstName);
-        appendIfNotEmpty(sb, middleName);
-        return sb.toString().trim();
+        String result = formatted;
+        if (result == null) {
+            StringBuilder sb = new StringBuilder(data.length + 2);
+            appendIfNotEmpty(sb, getLastName());
+            appendIfNotEmpty(sb, getFirstName());
+            appendIfNotEmpty(sb, getMiddleName());
+            result = sb.toString().trim();
+            formatted = result;
+        }
+        return result;
     }
 
     /**
@@ -75,7 +126,7 @@ public final class Name {
      * @return фамилия (может быть null)
      */
     public String getLastName() {
-        return lastName;
+        return decode(LAST_NAME_NULL, 0, firstNameOffset);
     }
 
     /**
@@ -83,7 +134,7 @@ public final class Name {
      * @return имя (может быть null)
      */
     public String getFirstName() {
-        return firstName;
+        return decode(FIRST_NAME_NULL, firstNameOffset, middleNameOffset);
     }
 
     /**
@@ -91,11 +142,61 @@ public final class Name {
      * @return отчество (может быть null)
      */
     public String getMiddleName() {
-        return middleName;
+        return decode(MIDDLE_NAME_NULL, middleNameOffset, data.length);
+    }
+
+    /**
+     * Декодирует компонент имени.
+     * @param nullFlag флаг, означающий что компонент равен null
+     * @param from начало компонента в массиве
+     * @param to конец компонента в массиве (не включая)
+     * @return компонент или null
+     */
+    private String decode(int nullFlag, int from, int to) {
+        if ((flags & nullFlag) != 0) {
+            return null;
+        }
+        return NameEncoding.decode(data, from, to, (flags & NameEncoding.UTF8) != 0);
+    }
+
+    /**
+     * Возвращает двоичный ключ сортировки для порядка "Фамилия Имя Отчество".
+     * Ключи сравниваются побайтно без знака, результат совпадает с {@link #compareTo(Name)}.
+     * Ключ вычисляется при первом обращении и кешируется.
+     * @return копия ключа сортировки
+     */
+    public byte[] getSortKey() {
+        return sortKey().clone();
+    }
+
+    /**
+     * Возвращает кешированный ключ сортировки без копирования.
+     * Поле volatile, поэтому другой поток не увидит ссылку на не до конца заполненный массив.
+     * @return ключ сортировки, который нельзя изменять
+     */
+    byte[] sortKey() {
+        byte[] key = sortKey;
+        if (key == null) {
+            key = NameCollation.sortKey(getLastName(), getFirstName(), getMiddleName(), flags);
+            sortKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Сравнивает имена по русскому алфавиту: фамилия, затем имя, затем отчество.
+     * Регистр букв учитывается только при совпадении остальных символов.
+     * @param other другое имя
+     * @return отрицательное число, ноль или положительное число
+     */
+    @Override
+    public int compareTo(Name other) {
+        return Arrays.compareUnsigned(sortKey(), other.sortKey());
     }
 
     /**
      * Сравнивает этот объект с другим на равенство.
+     * Сравнение выполняется по закодированному представлению без декодирования строк.
      * @param o объект для сравнения
      * @return true если объекты равны, false в противном случае
      */
@@ -104,17 +205,65 @@ public final class Name {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Name name = (Name) o;
-        return Objects.equals(lastName, name.lastName) &&
-                Objects.equals(firstName, name.firstName) &&
-                Objects.equals(middleName, name.middleName);
+        return flags == name.flags &&
+                firstNameOffset == name.firstNameOffset &&
+                middleNameOffset == name.middleNameOffset &&
+                Arrays.equals(data, name.data);
     }
 
     /**
-     * Возвращает хэш-код объекта.
+     * Возвращает хэш-код объекта. Вычисляется при первом обращении и кешируется.
      * @return хэш-код
      */
     @Override
     public int hashCode() {
-        return Objects.hash(lastName, firstName, middleName);
+        int h = hash;
+        if (h == 0) {
+            h = 31 * (31 * (31 * flags + firstNameOffset) + middleNameOffset) + Arrays.hashCode(data);
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Возвращает закодированное представление компонентов (без копирования).
+     * @return массив байтов, который нельзя изменять
+     */
+    byte[] encoded() {
+        return data;
+    }
+
+    /**
+     * Проверяет, закодировано ли имя в UTF-8.
+     * @return true для UTF-8, false для однобайтовой кодировки
+     */
+    boolean isUtf8() {
+        return (flags & NameEncoding.UTF8) != 0;
+    }
+
+    /**
+     * Возвращает начало компонента в закодированном представлении.
+     * @param component 0 - фамилия, 1 - имя, 2 - отчество
+     * @return смещение начала компонента
+     */
+    int componentStart(int component) {
+        return switch (component) {
+            case 0 -> 0;
+            case 1 -> firstNameOffset;
+            default -> middleNameOffset;
+        };
+    }
+
+    /**
+     * Возвращает конец компонента в закодированном представлении.
+     * @param component 0 - фамилия, 1 - имя, 2 - отчество
+     * @return смещение конца компонента (не включая)
+     */
+    int componentEnd(int component) {
+        return switch (component) {
+            case 0 -> firstNameOffset;
+            case 1 -> middleNameOffset;
+            default -> data.length;
+        };
     }
-}
\ No newline at end of file
+}
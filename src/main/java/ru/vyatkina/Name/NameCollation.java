@@ -0,0 +1,113 @@
+package ru.vyatkina.Name;
+
+import java.io.ByteArrayOutputStream;
+
+
+/**
+ * Построение двоичных ключей сортировки имен по русскому алфавиту.
+ * Ключ состоит из первичных весов символов всех компонентов (без учета регистра, "ё" после "е"),
+ * разделителя уровней, весов регистра букв и признаков отсутствующих компонентов.
+ * Побайтное сравнение ключей без знака дает порядок "Фамилия Имя Отчество".
+ */
+final class NameCollation {
+    private static final int LEVEL_SEPARATOR = 0x00;
+    private static final int COMPONENT_SEPARATOR = 0x01;
+    private static final int SPACE_WEIGHT = 0x02;
+    private static final int HYPHEN_WEIGHT = 0x03;
+    private static final int DIGIT_BASE = 0x10;
+    private static final int LATIN_BASE = 0x20;
+    private static final int CYRILLIC_BASE = 0x40;
+    private static final int ESCAPE = 0xFF;
+    private static final int LOWER_CASE = 1;
+    private static final int UPPER_CASE = 2;
+    private static final String CYRILLIC_ALPHABET = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+
+    private NameCollation() {
+    }
+
+    /**
+     * Строит ключ сортировки.
+     * @param lastName фамилия (может быть null)
+     * @param firstName имя (может быть null)
+     * @param middleName отчество (может быть null)
+     * @param flags флаги представления имени, в младших битах - признаки null-компонентов
+     * @return ключ сортировки
+     */
+    static byte[] sortKey(String lastName, String firstName, String middleName, byte flags) {
+        ByteArrayOutputStream key = new ByteArrayOutputStream(32);
+        appendPrimary(key, lastName);
+        key.write(COMPONENT_SEPARATOR);
+        appendPrimary(key, firstName);
+        key.write(COMPONENT_SEPARATOR);
+        appendPrimary(key, middleName);
+
+        key.write(LEVEL_SEPARATOR);
+        appendCase(key, lastName);
+        appendCase(key, firstName);
+        appendCase(key, middleName);
+        key.write(LEVEL_SEPARATOR);
+        key.write(flags & 0x07);
+        return key.toByteArray();
+    }
+
+    /**
+     * Добавляет первичные веса символов компонента.
+     * @param key формируемый ключ
+     * @param component компонент (может быть null)
+     */
+    private static void appendPrimary(ByteArrayOutputStream key, String component) {
+        if (component == null) {
+            return;
+        }
+        for (int i = 0; i < component.length(); i++) {
+            char c = component.charAt(i);
+            int weight = primaryWeight(Character.toLowerCase(c));
+            if (weight >= 0) {
+                key.write(weight);
+            } else {
+                key.write(ESCAPE);
+                key.write(c >>> 8);
+                key.write(c);
+            }
+        }
+    }
+
+    /**
+     * Добавляет веса регистра букв компонента.
+     * @param key формируемый ключ
+     * @param component компонент (может быть null)
+     */
+    private static void appendCase(ByteArrayOutputStream key, String component) {
+        if (component == null) {
+            return;
+        }
+        for (int i = 0; i < component.length(); i++) {
+            char c = component.charAt(i);
+            if (Character.isLetter(c)) {
+                key.write(Character.isUpperCase(c) ? UPPER_CASE : LOWER_CASE);
+            }
+        }
+    }
+
+    /**
+     * Возвращает первичный вес символа в нижнем регистре.
+     * @param c символ
+     * @return вес от 0x02 до 0x60 или -1 для символов вне таблицы
+     */
+    private static int primaryWeight(char c) {
+        if (c == ' ') {
+            return SPACE_WEIGHT;
+        }
+        if (c == '-') {
+            return HYPHEN_WEIGHT;
+        }
+        if (c >= '0' && c <= '9') {
+            return DIGIT_BASE + c - '0';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return LATIN_BASE + c - 'a';
+        }
+        int index = CYRILLIC_ALPHABET.indexOf(c);
+        return index >= 0 ? CYRILLIC_BASE + index : -1;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.vyatkina.Name;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Ограниченный пул для повторного использования одинаковых компонентов имени.
+ * Имена и отчества сильно повторяются, поэтому одинаковые строки заменяются одним экземпляром.
+ * Сам {@link Name} хранит компоненты в одном закодированном массиве и строк не держит,
+ * поэтому пул применяется там, где строки компонентов хранятся для каждого имени, -
+ * в ключах {@link NameIndex} (см. {@link NameIndex#getKeyPoolStatistics()}).
+ * Пул разбит на сегменты со своими блокировками; в каждом сегменте при переполнении
+ * вытесняется давно не использованное значение (LRU).
+ */
+public final class NameComponentPool {
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Статистика работы пула.
+     * @param hits количество обращений, вернувших уже известную строку
+     * @param misses количество обращений с новой строкой
+     * @param evictions количество вытесненных строк
+     * @param bytesSaved оценка сэкономленной памяти в байтах
+     */
+    public record Statistics(long hits, long misses, long evictions, long bytesSaved) {
+
+        /**
+         * Возвращает долю попаданий.
+         * @return доля попаданий от 0 до 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Создает пул.
+     * @param capacity максимальное количество хранимых строк (больше нуля)
+     * @throws IllegalArgumentException если емкость не положительна
+     */
+    public NameComponentPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Емкость пула должна быть положительной");
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors() * 4, capacity));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int segmentCapacity = Math.max(1, capacity / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Возвращает единственный экземпляр строки с таким же содержимым.
+     * @param component компонент имени (может быть null)
+     * @return строка из пула, переданная строка при первом обращении или null
+     */
+    public String intern(String component) {
+        if (component == null) {
+            return null;
+        }
+        String pooled = lookup(component);
+        if (pooled != component) {
+            bytesSaved.add(estimateSize(component));
+        }
+        return pooled;
+    }
+
+    /**
+     * Ищет строку в сегменте и добавляет ее при отсутствии.
+     * @param component строка для поиска
+     * @return строка из пула
+     */
+    private String lookup(String component) {
+        int hash = component.hashCode();
+        Segment segment = segments[(hash ^ (hash >>> 16)) & segmentMask];
+        String pooled;
+        synchronized (segment) {
+            pooled = segment.putIfAbsent(component, component);
+        }
+        if (pooled == null) {
+            misses.increment();
+            return component;
+        }
+        hits.increment();
+        return pooled;
+    }
+
+    /**
+     * Возвращает текущую статистику пула.
+     * @return статистика попаданий, промахов, вытеснений и экономии памяти
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), bytesSaved.sum());
+    }
+
+    /**
+     * Оценивает размер строки в куче.
+     * @param value строка
+     * @return приблизительный размер в байтах
+     */
+    private static long estimateSize(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return STRING_OVERHEAD_BYTES + 2L * value.length();
+            }
+        }
+        return STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    /**
+     * Сегмент пула: LinkedHashMap в порядке доступа с ограничением размера.
+     */
+    private final class Segment extends LinkedHashMap<String, String> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ru.vyatkina.Name;
+
+import ru.vyatkina.Validation.InputValidator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+
+/**
+ * Потоковое чтение имен из файлов CSV/TSV в формате "фамилия;имя;отчество" (UTF-8).
+ * Файл читается через FileChannel в прямой буфер фиксированного размера, поэтому объем
+ * занятой памяти не зависит от размера файла. Пустое поле означает отсутствующий компонент
+ * (так их записывает {@link NameCsvWriter}), но хотя бы одно поле должно быть заполнено.
+ * Каждый непустой компонент проверяется по тем же правилам, что и интерактивный ввод
+ * ({@link InputValidator}); неверные строки пропускаются и передаются обработчику ошибок.
+ */
+public final class NameCsvReader {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MIN_CHUNK_SIZE = 8 << 20;
+    private static final int FIELD_COUNT = 3;
+
+    private final char delimiter;
+
+    /**
+     * Обработчик строк, не прошедших проверку.
+     */
+    @FunctionalInterface
+    public interface InvalidRowHandler {
+        /**
+         * Вызывается для каждой неверной строки.
+         * @param offset смещение начала строки в файле (в байтах)
+         * @param row текст строки
+         * @param message описание ошибки
+         */
+        void onInvalidRow(long offset, String row, String message);
+    }
+
+    /**
+     * Создает читатель с разделителем ';'.
+     */
+    public NameCsvReader() {
+        this(';');
+    }
+
+    /**
+     * Создает читатель с указанным разделителем (например '\t' для TSV).
+     * @param delimiter разделитель полей
+     */
+    public NameCsvReader(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Последовательно читает файл, передавая имена потребителю в порядке следования строк.
+     * @param file путь к файлу
+     * @param consumer получатель прочитанных имен
+     * @param errors обработчик неверных строк
+     * @return количество прочитанных имен
+     * @throws IOException если файл не удалось прочитать
+     */
+    public long read(Path file, Consumer<Name> consumer, InvalidRowHandler errors) throws IOException {
+        Objects.requireNonNull(consumer, "Получатель имен не может быть null");
+        Objects.requireNonNull(errors, "Обработчик ошибок не может быть null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readRange(channel, 0, channel.size(), consumer, errors);
+        }
+    }
+
+    /**
+     * Читает файл параллельно, разбивая его на фрагменты по границам строк.
+     * Порядок вызова потребителя не определен; потребитель и обработчик ошибок
+     * должны быть потокобезопасными.
+     * @param file путь к файлу
+     * @param consumer потокобезопасный получатель прочитанных имен
+     * @param errors потокобезопасный обработчик неверных строк
+     * @return количество прочитанных имен
+     * @throws IOException если файл не удалось прочитать
+     */
+    public long readParallel(Path file, Consumer<Name> consumer, InvalidRowHandler errors) throws IOException {
+        Objects.requireNonNull(consumer, "Получатель имен не может быть null");
+        Objects.requireNonNull(errors, "Обработчик ошибок не может быть null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int parallelism = Runtime.getRuntime().availableProcessors() * 4;
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, (size + parallelism - 1) / parallelism);
+            long chunks = (size + chunkSize - 1) / chunkSize;
+
+            LongAdder total = new LongAdder();
+            try {
+                LongStream.range(0, chunks).parallel().forEach(chunk -> {
+                    long from = chunk * chunkSize;
+                    long to = Math.min(size, from + chunkSize);
+                    try {
+                        total.add(readRange(channel, from, to, consumer, errors));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return total.sum();
+        }
+    }
+
+    /**
+     * Читает строки, начинающиеся в диапазоне [from, to).
+     * Строка, начатая до from, принадлежит предыдущему фрагменту и пропускается;
+     * строка, начатая до to, дочитывается до конца даже за пределами диапазона.
+     * @return количество прочитанных имен
+     */
+    private long readRange(FileChannel channel, long from, long to, Consumer<Name> consumer,
+                           InvalidRowHandler errors) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        long position = from;
+        long lineStart = from;
+        boolean skipping = from > 0 && !isLineStart(channel, from);
+        long count = 0;
+
+        buffer.flip();
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                buffer.flip();
+                if (read <= 0) {
+                    break;
+                }
+            }
+            byte b = buffer.get();
+            position++;
+            if (b != '\n') {
+                if (!skipping) {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = b;
+                }
+                continue;
+            }
+            if (!skipping && parseLine(line, lineLength, lineStart, consumer, errors)) {
+                count++;
+            }
+            skipping = false;
+            lineLength = 0;
+            lineStart = position;
+            if (lineStart >= to) {
+                return count;
+            }
+        }
+        if (!skipping && lineLength > 0 && lineStart < to
+                && parseLine(line, lineLength, lineStart, consumer, errors)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Проверяет, начинается ли строка файла ровно в указанной позиции.
+     */
+    private static boolean isLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer previous = ByteBuffer.allocate(1);
+        channel.read(previous, position - 1);
+        return previous.get(0) == '\n';
+    }
+
+    /**
+     * Разбирает строку и передает имя потребителю.
+     * @return true если строка содержала допустимое имя
+     */
+    private boolean parseLine(byte[] bytes, int length, long offset, Consumer<Name> consumer,
+                              InvalidRowHandler errors) {
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return false;
+        }
+        String row = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        int[] starts = new int[FIELD_COUNT];
+        int[] ends = new int[FIELD_COUNT];
+        int fieldStart = 0;
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int fieldEnd = i == FIELD_COUNT - 1 ? row.length() : row.indexOf(delimiter, fieldStart);
+            if (fieldEnd < 0) {
+                errors.onInvalidRow(offset, row, "Ожидается три поля: фамилия, имя, отчество.");
+                return false;
+            }
+            int start = fieldStart;
+            int end = fieldEnd;
+            while (start < end && row.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && row.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            starts[i] = start;
+            ends[i] = end;
+            fieldStart = fieldEnd + 1;
+        }
+        int extraDelimiter = row.indexOf(delimiter, starts[2]);
+        if (extraDelimiter >= 0 && extraDelimiter < ends[2]) {
+            errors.onInvalidRow(offset, row, "Ожидается три поля: фамилия, имя, отчество.");
+            return false;
+        }
+        boolean present = false;
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (starts[i] == ends[i]) {
+                continue;
+            }
+            present = true;
+            InputValidator.Violation violation = InputValidator.check(row, starts[i], ends[i]);
+            if (violation != InputValidator.Violation.NONE) {
+                errors.onInvalidRow(offset, row, violation.getMessage());
+                return false;
+            }
+        }
+        if (!present) {
+            errors.onInvalidRow(offset, row, InputValidator.Violation.EMPTY.getMessage());
+            return false;
+        }
+        String[] fields = new String[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            fields[i] = starts[i] == ends[i] ? null : row.substring(starts[i], ends[i]);
+        }
+        consumer.accept(Name.of(fields[1], fields[0], fields[2]));
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.vyatkina.Name;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+
+/**
+ * Потоковая запись имен в файл CSV/TSV в формате "фамилия;имя;отчество" (UTF-8).
+ * Строки кодируются в прямой буфер фиксированного размера, который сбрасывается в FileChannel
+ * по заполнении. Байты компонентов копируются из закодированного представления имени
+ * без создания строк (см. {@link NameRenderer}). Отсутствующие компоненты записываются пустыми полями.
+ * Экземпляр не потокобезопасен.
+ */
+public final class NameCsvWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final char delimiter;
+    private final byte[] delimiterBytes;
+
+    /**
+     * Создает файл с разделителем ';' (существующий файл перезаписывается).
+     * @param file путь к файлу
+     * @throws IOException если файл не удалось открыть
+     */
+    public NameCsvWriter(Path file) throws IOException {
+        this(file, ';');
+    }
+
+    /**
+     * Создает файл с указанным разделителем (существующий файл перезаписывается).
+     * @param file путь к файлу
+     * @param delimiter разделитель полей
+     * @throws IOException если файл не удалось открыть
+     */
+    public NameCsvWriter(Path file, char delimiter) throws IOException {
+        Objects.requireNonNull(file, "Путь к файлу не может быть null");
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.delimiter = delimiter;
+        this.delimiterBytes = String.valueOf(delimiter).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Записывает имя одной строкой.
+     * @param name имя (не может быть null)
+     * @throws IOException при ошибке записи
+     */
+    public void write(Name name) throws IOException {
+        Objects.requireNonNull(name, "Имя не может быть null");
+        int length = NameRenderer.maxLength(name);
+        if (buffer.remaining() < length) {
+            flush();
+        }
+        if (buffer.remaining() >= length) {
+            NameRenderer.putComponent(buffer, name, 0);
+            buffer.put(delimiterBytes);
+            NameRenderer.putComponent(buffer, name, 1);
+            buffer.put(delimiterBytes);
+            NameRenderer.putComponent(buffer, name, 2);
+            buffer.put((byte) '\n');
+            return;
+        }
+        encode(name.getLastName());
+        encode(String.valueOf(delimiter));
+        encode(name.getFirstName());
+        encode(String.valueOf(delimiter));
+        encode(name.getMiddleName());
+        encode("\n");
+    }
+
+    /**
+     * Кодирует строку в буфер, сбрасывая его в файл при заполнении.
+     * @param value строка (null записывается как пустая)
+     */
+    private void encode(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(value);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+                continue;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            encoder.reset();
+            return;
+        }
+    }
+
+    /**
+     * Записывает содержимое буфера в файл.
+     * @throws IOException при ошибке записи
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Сбрасывает буфер и закрывает файл.
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
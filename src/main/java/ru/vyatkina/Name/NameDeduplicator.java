@@ -0,0 +1,175 @@
+package ru.vyatkina.Name;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * Поиск дубликатов имен с нормализацией.
+ * Имена считаются одинаковыми, если совпадают после приведения к нижнему регистру,
+ * замены "ё" на "е", обрезки пробелов по краям и схлопывания пробелов внутри компонентов.
+ * Для каждого имени вычисляется 64-битный отпечаток нормализованной формы прямо по закодированным
+ * байтам, а отпечатки хранятся в примитивных хэш-множествах, разбитых на разделы по старшим битам.
+ * Вероятность ложного совпадения отпечатков для 10^8 имен порядка 10^-3.
+ */
+public final class NameDeduplicator {
+    private static final int PARTITION_BITS = 6;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final char COMPONENT_MARK = '\u0001';
+
+    private final LongHashSet[] partitions = new LongHashSet[PARTITIONS];
+
+    /**
+     * Создает пустой дедупликатор для потоковой обработки.
+     * @param expectedSize ожидаемое количество различных имен
+     */
+    public NameDeduplicator(int expectedSize) {
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions[i] = new LongHashSet(expectedSize / PARTITIONS);
+        }
+    }
+
+    /**
+     * Добавляет имя, если такого (с учетом нормализации) еще не было.
+     * Можно вызывать из нескольких потоков: блокируется только раздел отпечатка.
+     * @param name имя (не может быть null)
+     * @return true если имя встретилось впервые
+     */
+    public boolean add(Name name) {
+        long fingerprint = fingerprint(name);
+        LongHashSet partition = partitions[partitionOf(fingerprint)];
+        synchronized (partition) {
+            return partition.add(fingerprint);
+        }
+    }
+
+    /**
+     * Возвращает количество различных имен.
+     * @return количество уникальных отпечатков
+     */
+    public long size() {
+        long total = 0;
+        for (LongHashSet partition : partitions) {
+            synchronized (partition) {
+                total += partition.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Параллельно удаляет дубликаты, оставляя первое вхождение каждого имени.
+     * Отпечатки вычисляются параллельно, индексы раскладываются по разделам с сохранением порядка,
+     * затем каждый раздел обрабатывается своим потоком.
+     * @param names список имен (не может быть null и содержать null)
+     * @return новый список без дубликатов в исходном порядке
+     */
+    public static List<Name> distinct(List<Name> names) {
+        Objects.requireNonNull(names, "Список имен не может быть null");
+        Name[] array = names.toArray(new Name[0]);
+        long[] fingerprints = new long[array.length];
+        IntStream.range(0, array.length).parallel().forEach(i -> fingerprints[i] = fingerprint(array[i]));
+
+        int[] starts = new int[PARTITIONS + 1];
+        for (long fingerprint : fingerprints) {
+            starts[partitionOf(fingerprint) + 1]++;
+        }
+        for (int p = 0; p < PARTITIONS; p++) {
+            starts[p + 1] += starts[p];
+        }
+        int[] next = starts.clone();
+        int[] byPartition = new int[array.length];
+        for (int i = 0; i < fingerprints.length; i++) {
+            byPartition[next[partitionOf(fingerprints[i])]++] = i;
+        }
+
+        boolean[] keep = new boolean[array.length];
+        IntStream.range(0, PARTITIONS).parallel().forEach(p -> {
+            LongHashSet seen = new LongHashSet(starts[p + 1] - starts[p]);
+            for (int k = starts[p]; k < starts[p + 1]; k++) {
+                int i = byPartition[k];
+                keep[i] = seen.add(fingerprints[i]);
+            }
+        });
+
+        List<Name> result = new ArrayList<>();
+        for (int i = 0; i < array.length; i++) {
+            if (keep[i]) {
+                result.add(array[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет 64-битный отпечаток нормализованной формы имени.
+     * @param name имя (не может быть null)
+     * @return отпечаток
+     */
+    public static long fingerprint(Name name) {
+        Objects.requireNonNull(name, "Имя не может быть null");
+        long hash = FNV_OFFSET;
+        for (int component = 0; component < 3; component++) {
+            hash = (hash ^ COMPONENT_MARK) * FNV_PRIME;
+            String decoded = name.isUtf8() ? componentString(name, component) : null;
+            int length = decoded != null ? decoded.length() : name.componentEnd(component) - name.componentStart(component);
+            boolean pendingSpace = false;
+            boolean started = false;
+            for (int i = 0; i < length; i++) {
+                char c = decoded != null
+                        ? decoded.charAt(i)
+                        : NameEncoding.decodeChar(name.encoded()[name.componentStart(component) + i]);
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = started;
+                    continue;
+                }
+                if (pendingSpace) {
+                    hash = (hash ^ ' ') * FNV_PRIME;
+                    pendingSpace = false;
+                }
+                started = true;
+                hash = (hash ^ normalize(c)) * FNV_PRIME;
+            }
+        }
+        return finish(hash);
+    }
+
+    /**
+     * Возвращает компонент имени, закодированного в UTF-8.
+     */
+    private static String componentString(Name name, int component) {
+        String value = switch (component) {
+            case 0 -> name.getLastName();
+            case 1 -> name.getFirstName();
+            default -> name.getMiddleName();
+        };
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Приводит символ к нормализованной форме.
+     * @param c символ
+     * @return символ в нижнем регистре с заменой "ё" на "е"
+     */
+    private static char normalize(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'ё' ? 'е' : lower;
+    }
+
+    /**
+     * Перемешивает биты отпечатка, чтобы старшие биты были равномерны.
+     */
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static int partitionOf(long fingerprint) {
+        return (int) (fingerprint >>> (Long.SIZE - PARTITION_BITS));
+    }
+}
@@ -0,0 +1,134 @@
+package ru.vyatkina.Name;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Однобайтовая кодировка компонентов имени.
+ * Латиница и ASCII кодируются как есть, кириллица (А-я, Ё, ё) - как в windows-1251.
+ * Строки с другими символами кодируются в UTF-8; выбор кодировки делается для имени целиком.
+ */
+final class NameEncoding {
+    /** Признак того, что имя закодировано в UTF-8, а не в однобайтовой кодировке. */
+    static final int UTF8 = 1 << 3;
+
+    private static final int CYRILLIC_A = 0x410;
+    private static final int CYRILLIC_YA_SMALL = 0x44F;
+    private static final int SINGLE_BYTE_A = 0xC0;
+    private static final char YO_CAPITAL = 'Ё';
+    private static final char YO_SMALL = 'ё';
+    private static final int SINGLE_BYTE_YO_CAPITAL = 0xA8;
+    private static final int SINGLE_BYTE_YO_SMALL = 0xB8;
+
+    private NameEncoding() {
+    }
+
+    /**
+     * Проверяет, можно ли записать строку в однобайтовой кодировке.
+     * @param value строка (может быть null)
+     * @return true если все символы кодируются одним байтом
+     */
+    static boolean isSingleByte(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (encodeChar(value.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает размер строки в байтах в выбранной кодировке.
+     * @param value строка (может быть null)
+     * @param utf8 true для UTF-8, false для однобайтовой кодировки
+     * @return количество байтов
+     */
+    static int encodedLength(String value, boolean utf8) {
+        if (value == null) {
+            return 0;
+        }
+        return utf8 ? value.getBytes(StandardCharsets.UTF_8).length : value.length();
+    }
+
+    /**
+     * Записывает строку в массив.
+     * @param value строка (может быть null)
+     * @param utf8 true для UTF-8, false для однобайтовой кодировки
+     * @param target массив назначения
+     * @param offset позиция записи
+     * @return позиция после записанных байтов
+     */
+    static int encode(String value, boolean utf8, byte[] target, int offset) {
+        if (value == null) {
+            return offset;
+        }
+        if (utf8) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, target, offset, bytes.length);
+            return offset + bytes.length;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            target[offset++] = (byte) encodeChar(value.charAt(i));
+        }
+        return offset;
+    }
+
+    /**
+     * Декодирует фрагмент массива в строку.
+     * @param data закодированные данные
+     * @param from начало фрагмента
+     * @param to конец фрагмента (не включая)
+     * @param utf8 true для UTF-8, false для однобайтовой кодировки
+     * @return декодированная строка
+     */
+    static String decode(byte[] data, int from, int to, boolean utf8) {
+        if (utf8) {
+            return new String(data, from, to - from, StandardCharsets.UTF_8);
+        }
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            chars[i - from] = decodeChar(data[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Кодирует символ одним байтом.
+     * @param c символ
+     * @return код от 0 до 255 или -1, если символ не кодируется
+     */
+    static int encodeChar(char c) {
+        if (c < 0x80) {
+            return c;
+        }
+        if (c >= CYRILLIC_A && c <= CYRILLIC_YA_SMALL) {
+            return c - CYRILLIC_A + SINGLE_BYTE_A;
+        }
+        if (c == YO_CAPITAL) {
+            return SINGLE_BYTE_YO_CAPITAL;
+        }
+        if (c == YO_SMALL) {
+            return SINGLE_BYTE_YO_SMALL;
+        }
+        return -1;
+    }
+
+    /**
+     * Декодирует символ из однобайтовой кодировки.
+     * @param b закодированный байт
+     * @return символ
+     */
+    static char decodeChar(byte b) {
+        int code = b & 0xFF;
+        if (code < 0x80) {
+            return (char) code;
+        }
+        if (code >= SINGLE_BYTE_A) {
+            return (char) (code - SINGLE_BYTE_A + CYRILLIC_A);
+        }
+        return code == SINGLE_BYTE_YO_CAPITAL ? YO_CAPITAL : YO_SMALL;
+    }
+}
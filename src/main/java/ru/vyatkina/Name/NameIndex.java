@@ -0,0 +1,230 @@
+package ru.vyatkina.Name;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+
+/**
+ * Неизменяемый поисковый индекс по коллекции имен.
+ * Для фамилии, имени и пары "имя + отчество" хранится отсортированный массив ключей
+ * с номерами имен, поэтому точный поиск и поиск по префиксу выполняются двоичным поиском
+ * за O(log N), а результат возвращается без копирования найденных имен.
+ * Индекс строится параллельно и безопасен для использования из нескольких потоков.
+ */
+public final class NameIndex {
+    private static final char COMPONENT_SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+    private static final int KEY_POOL_CAPACITY = 1 << 20;
+
+    private final Name[] names;
+    private final NameComponentPool keyPool;
+    private final SortedKeys byLastName;
+    private final SortedKeys byFirstName;
+    private final SortedKeys byFirstAndMiddleName;
+
+    /**
+     * Строит индекс по списку имен.
+     * @param names имена для индексации (не может быть null и содержать null)
+     */
+    public NameIndex(List<Name> names) {
+        Objects.requireNonNull(names, "Список имен не может быть null");
+        this.names = names.toArray(new Name[0]);
+        // ключи хранятся для каждого имени, а фамилии и имена сильно повторяются
+        this.keyPool = new NameComponentPool(KEY_POOL_CAPACITY);
+        this.byLastName = SortedKeys.build(this.names, name -> keyPool.intern(name.getLastName()));
+        this.byFirstName = SortedKeys.build(this.names, name -> keyPool.intern(name.getFirstName()));
+        this.byFirstAndMiddleName = SortedKeys.build(this.names,
+                name -> combinedKey(name.getFirstName(), name.getMiddleName()));
+    }
+
+    /**
+     * Возвращает статистику пула, через который построены ключи по фамилии и имени:
+     * долю повторяющихся компонентов и оценку сэкономленной памяти.
+     * @return статистика пула ключей
+     */
+    public NameComponentPool.Statistics getKeyPoolStatistics() {
+        return keyPool.getStatistics();
+    }
+
+    /**
+     * Возвращает количество проиндексированных имен.
+     * @return размер индекса
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Ищет имена с указанной фамилией.
+     * @param lastName фамилия (не может быть null)
+     * @return неизменяемый список найденных имен
+     */
+    public List<Name> findByLastName(String lastName) {
+        return byLastName.exact(Objects.requireNonNull(lastName, "Фамилия не может быть null"));
+    }
+
+    /**
+     * Ищет имена, фамилия которых начинается с префикса.
+     * @param prefix префикс фамилии (не может быть null)
+     * @return неизменяемый список найденных имен в порядке фамилий
+     */
+    public List<Name> findByLastNamePrefix(String prefix) {
+        return byLastName.prefix(Objects.requireNonNull(prefix, "Префикс не может быть null"));
+    }
+
+    /**
+     * Ищет имена с указанным именем.
+     * @param firstName имя (не может быть null)
+     * @return неизменяемый список найденных имен
+     */
+    public List<Name> findByFirstName(String firstName) {
+        return byFirstName.exact(Objects.requireNonNull(firstName, "Имя не может быть null"));
+    }
+
+    /**
+     * Ищет имена, у которых имя начинается с префикса.
+     * @param prefix префикс имени (не может быть null)
+     * @return неизменяемый список найденных имен в порядке имен
+     */
+    public List<Name> findByFirstNamePrefix(String prefix) {
+        return byFirstName.prefix(Objects.requireNonNull(prefix, "Префикс не может быть null"));
+    }
+
+    /**
+     * Ищет имена с указанными именем и отчеством.
+     * @param firstName имя (не может быть null)
+     * @param middleName отчество (не может быть null)
+     * @return неизменяемый список найденных имен
+     */
+    public List<Name> findByFirstAndMiddleName(String firstName, String middleName) {
+        Objects.requireNonNull(firstName, "Имя не может быть null");
+        Objects.requireNonNull(middleName, "Отчество не может быть null");
+        return byFirstAndMiddleName.exact(combinedKey(firstName, middleName));
+    }
+
+    /**
+     * Ищет имена по фамилии, имени и префиксу отчества.
+     * Поиск начинается с самого избирательного индекса, остальные условия проверяются фильтром.
+     * @param lastName фамилия (null - любая)
+     * @param firstName имя (null - любое)
+     * @param middleNamePrefix префикс отчества (null - любое)
+     * @return неизменяемый список найденных имен
+     */
+    public List<Name> find(String lastName, String firstName, String middleNamePrefix) {
+        List<Name> candidates;
+        if (firstName != null && middleNamePrefix != null) {
+            candidates = byFirstAndMiddleName.prefix(firstName + COMPONENT_SEPARATOR + middleNamePrefix);
+        } else if (lastName != null && firstName != null) {
+            List<Name> byLast = findByLastName(lastName);
+            List<Name> byFirst = findByFirstName(firstName);
+            candidates = byLast.size() <= byFirst.size() ? byLast : byFirst;
+        } else if (lastName != null) {
+            candidates = findByLastName(lastName);
+        } else if (firstName != null) {
+            candidates = findByFirstName(firstName);
+        } else {
+            candidates = Arrays.asList(names);
+        }
+        return candidates.stream()
+                .filter(name -> lastName == null || lastName.equals(name.getLastName()))
+                .filter(name -> firstName == null || firstName.equals(name.getFirstName()))
+                .filter(name -> middleNamePrefix == null
+                        || (name.getMiddleName() != null && name.getMiddleName().startsWith(middleNamePrefix)))
+                .toList();
+    }
+
+    /**
+     * Формирует составной ключ из имени и отчества.
+     * @param firstName имя
+     * @param middleName отчество
+     * @return ключ или null, если оба компонента отсутствуют
+     */
+    private static String combinedKey(String firstName, String middleName) {
+        if (firstName == null && middleName == null) {
+            return null;
+        }
+        return (firstName == null ? "" : firstName) + COMPONENT_SEPARATOR + (middleName == null ? "" : middleName);
+    }
+
+    /**
+     * Отсортированные ключи одного компонента с номерами имен.
+     */
+    private static final class SortedKeys {
+        private final Name[] names;
+        private final String[] keys;
+        private final int[] ids;
+
+        private SortedKeys(Name[] names, String[] keys, int[] ids) {
+            this.names = names;
+            this.keys = keys;
+            this.ids = ids;
+        }
+
+        /**
+         * Параллельно строит отсортированный массив ключей.
+         * @param names индексируемые имена
+         * @param keyFunction функция получения ключа (null - имя не индексируется)
+         * @return отсортированные ключи
+         */
+        static SortedKeys build(Name[] names, Function<Name, String> keyFunction) {
+            record Entry(String key, int id) {
+            }
+            Entry[] entries = IntStream.range(0, names.length)
+                    .parallel()
+                    .mapToObj(i -> new Entry(keyFunction.apply(names[i]), i))
+                    .filter(entry -> entry.key() != null && !entry.key().isEmpty())
+                    .toArray(Entry[]::new);
+            Arrays.parallelSort(entries, Comparator.comparing(Entry::key));
+
+            String[] keys = new String[entries.length];
+            int[] ids = new int[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                keys[i] = entries[i].key();
+                ids[i] = entries[i].id();
+            }
+            return new SortedKeys(names, keys, ids);
+        }
+
+        List<Name> exact(String key) {
+            return view(lowerBound(key), lowerBound(key + COMPONENT_SEPARATOR));
+        }
+
+        List<Name> prefix(String prefix) {
+            return view(lowerBound(prefix), lowerBound(prefix + MAX_CHAR));
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private List<Name> view(int from, int to) {
+            return new AbstractList<>() {
+                @Override
+                public Name get(int index) {
+                    Objects.checkIndex(index, to - from);
+                    return names[ids[from + index]];
+                }
+
+                @Override
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package ru.vyatkina.Name;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * Нечеткий поиск похожих имен (опечатки, разные варианты транслитерации).
+ * Кириллица транслитерируется в латиницу, после чего для имени строятся:
+ * фонетический ключ фамилии и имени и MinHash-сигнатура множества символьных триграмм.
+ * Сигнатуры раскладываются по корзинам LSH (полосы по несколько значений), поэтому кандидаты
+ * находятся без попарного сравнения всех имен, а сходство оценивается по доле совпавших
+ * значений сигнатуры (оценка коэффициента Жаккара для триграмм).
+ * Корзины больше 256 имен (частые фамилии) упорядочиваются по ключу сортировки имени,
+ * и внутри них сравниваются только имена, близкие в этом порядке (скользящее окно),
+ * поэтому время сравнения не растет квадратично с размером корзины.
+ * Индекс неизменяем после построения и безопасен для чтения из нескольких потоков.
+ */
+public final class NameMatcher {
+    private static final int SIGNATURE_SIZE = 32;
+    private static final int BANDS = 8;
+    private static final int ROWS_PER_BAND = SIGNATURE_SIZE / BANDS;
+    private static final int NGRAM = 3;
+    private static final int MAX_BUCKET_WINDOW = 256;
+    private static final String[] TRANSLITERATION = {
+            "a", "b", "v", "g", "d", "e", "zh", "z", "i", "y", "k", "l", "m", "n", "o", "p",
+            "r", "s", "t", "u", "f", "kh", "ts", "ch", "sh", "sch", "", "y", "", "e", "yu", "ya"
+    };
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    private final Name[] names;
+    private final int[][] signatures;
+    private final Map<Long, int[]> buckets;
+
+    /**
+     * Найденное похожее имя.
+     * @param name найденное имя
+     * @param similarity оценка сходства от 0 до 1
+     */
+    public record Match(Name name, double similarity) {
+    }
+
+    /**
+     * Пара похожих имен из индекса.
+     * @param first первое имя
+     * @param second второе имя
+     * @param similarity оценка сходства от 0 до 1
+     */
+    public record MatchPair(Name first, Name second, double similarity) {
+    }
+
+    /**
+     * Строит индекс похожести. Сигнатуры вычисляются параллельно.
+     * @param names имена для индексации (не может быть null и содержать null)
+     */
+    public NameMatcher(List<Name> names) {
+        Objects.requireNonNull(names, "Список имен не может быть null");
+        this.names = names.toArray(new Name[0]);
+        this.signatures = new int[this.names.length][];
+        IntStream.range(0, this.names.length).parallel()
+                .forEach(i -> signatures[i] = signature(this.names[i]));
+
+        Map<Long, List<Integer>> grouped = new HashMap<>();
+        for (int i = 0; i < this.names.length; i++) {
+            for (long key : blockingKeys(this.names[i], signatures[i])) {
+                grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+        this.buckets = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, ids) -> {
+            if (ids.size() > MAX_BUCKET_WINDOW) {
+                ids.sort((a, b) -> Arrays.compareUnsigned(this.names[a].sortKey(), this.names[b].sortKey()));
+            }
+            buckets.put(key, ids.stream().mapToInt(Integer::intValue).toArray());
+        });
+    }
+
+    /**
+     * Ищет в индексе имена, похожие на заданное.
+     * @param name образец (не может быть null)
+     * @param threshold минимальное сходство от 0 до 1
+     * @return найденные имена по убыванию сходства
+     */
+    public List<Match> findSimilar(Name name, double threshold) {
+        Objects.requireNonNull(name, "Имя не может быть null");
+        int[] signature = signature(name);
+        LongHashSet candidates = new LongHashSet(MAX_BUCKET_WINDOW);
+        List<Match> result = new ArrayList<>();
+        for (long key : blockingKeys(name, signature)) {
+            int[] ids = buckets.get(key);
+            if (ids == null) {
+                continue;
+            }
+            int from = 0;
+            int to = ids.length;
+            if (ids.length > MAX_BUCKET_WINDOW) {
+                from = Math.max(0, Math.min(lowerBound(ids, name.sortKey()) - MAX_BUCKET_WINDOW / 2,
+                        ids.length - MAX_BUCKET_WINDOW));
+                to = from + MAX_BUCKET_WINDOW;
+            }
+            for (int i = from; i < to; i++) {
+                int id = ids[i];
+                if (!candidates.add(id)) {
+                    continue;
+                }
+                double similarity = similarity(signature, signatures[id]);
+                if (similarity >= threshold) {
+                    result.add(new Match(names[id], similarity));
+                }
+            }
+        }
+        result.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return result;
+    }
+
+    /**
+     * Находит все пары похожих имен внутри индекса.
+     * Сравниваются только имена из общих корзин (в больших корзинах - в пределах окна),
+     * поэтому время близко к линейному.
+     * Пара из нескольких общих корзин сравнивается в каждой из них, а запоминаются только
+     * прошедшие порог пары, поэтому память растет с количеством найденных пар, а не сравнений.
+     * @param threshold минимальное сходство от 0 до 1
+     * @return пары похожих имен (каждая пара один раз)
+     */
+    public List<MatchPair> findSimilarPairs(double threshold) {
+        LongHashSet found = new LongHashSet(MAX_BUCKET_WINDOW);
+        List<MatchPair> result = new ArrayList<>();
+        for (int[] ids : buckets.values()) {
+            for (int a = 0; a < ids.length; a++) {
+                int end = Math.min(ids.length, a + MAX_BUCKET_WINDOW + 1);
+                for (int b = a + 1; b < end; b++) {
+                    int first = Math.min(ids[a], ids[b]);
+                    int second = Math.max(ids[a], ids[b]);
+                    if (first == second) {
+                        continue;
+                    }
+                    double similarity = similarity(signatures[first], signatures[second]);
+                    if (similarity >= threshold && found.add(((long) first << 32) | second)) {
+                        result.add(new MatchPair(names[first], names[second], similarity));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает фонетический ключ компонента имени.
+     * Согласные сводятся к группам близкого звучания, гласные (кроме первой буквы) отбрасываются,
+     * повторы схлопываются. Кириллица предварительно транслитерируется.
+     * @param component компонент имени (может быть null)
+     * @return фонетический ключ (пустой для null)
+     */
+    public static String phoneticCode(String component) {
+        String latin = transliterate(component);
+        StringBuilder code = new StringBuilder();
+        char last = 0;
+        for (int i = 0; i < latin.length(); i++) {
+            char c = latin.charAt(i);
+            String pair = i + 1 < latin.length() ? latin.substring(i, i + 2) : "";
+            char group;
+            if (pair.equals("zh") || pair.equals("sh") || pair.equals("ch")) {
+                group = 'X';
+                i++;
+            } else if (pair.equals("kh") || pair.equals("ts")) {
+                group = pair.equals("kh") ? 'K' : 'S';
+                i++;
+            } else {
+                group = consonantGroup(c);
+            }
+            if (group == 0) {
+                if (code.length() == 0 && isLetter(c)) {
+                    code.append('A');
+                    last = 'A';
+                } else {
+                    last = 0;
+                }
+                continue;
+            }
+            if (group != last) {
+                code.append(group);
+            }
+            last = group;
+        }
+        return code.toString();
+    }
+
+    /**
+     * Транслитерирует строку в латиницу в нижнем регистре, оставляя только буквы и пробелы.
+     * @param value строка (может быть null)
+     * @return транслитерированная строка
+     */
+    static String transliterate(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = Character.toLowerCase(value.charAt(i));
+            if (c >= 'а' && c <= 'я') {
+                sb.append(TRANSLITERATION[c - 'а']);
+            } else if (c == 'ё') {
+                sb.append('e');
+            } else if (c >= 'a' && c <= 'z') {
+                sb.append(c);
+            } else if (Character.isWhitespace(c) || c == '-') {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Вычисляет MinHash-сигнатуру множества триграмм транслитерированного имени.
+     */
+    private static int[] signature(Name name) {
+        String text = " " + transliterate(name.getLastName()) + " " + transliterate(name.getFirstName())
+                + " " + transliterate(name.getMiddleName()) + " ";
+        int[] result = new int[SIGNATURE_SIZE];
+        Arrays.fill(result, Integer.MAX_VALUE);
+        for (int i = 0; i + NGRAM <= text.length(); i++) {
+            long gram = 0;
+            for (int k = 0; k < NGRAM; k++) {
+                gram = (gram << 16) | text.charAt(i + k);
+            }
+            for (int h = 0; h < SIGNATURE_SIZE; h++) {
+                int value = (int) (mix(gram ^ SEEDS[h]) >>> 33);
+                if (value < result[h]) {
+                    result[h] = value;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает ключи корзин имени: по одному на каждую полосу LSH и фонетический ключ.
+     */
+    private static long[] blockingKeys(Name name, int[] signature) {
+        long[] keys = new long[BANDS + 1];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                hash = mix(hash * 31 + signature[band * ROWS_PER_BAND + row]);
+            }
+            keys[band] = hash;
+        }
+        String phonetic = phoneticCode(name.getLastName()) + '|' + phoneticCode(name.getFirstName());
+        keys[BANDS] = mix(phonetic.hashCode() + ((long) BANDS << 32));
+        return keys;
+    }
+
+    /**
+     * Возвращает первую позицию в упорядоченной корзине, где ключ сортировки не меньше заданного.
+     */
+    private int lowerBound(int[] ids, byte[] key) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(names[ids[middle]].sortKey(), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Оценивает сходство по доле совпадающих значений сигнатур.
+     */
+    private static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    private static char consonantGroup(char c) {
+        return switch (c) {
+            case 'b', 'p' -> 'P';
+            case 'f', 'v', 'w' -> 'F';
+            case 'g', 'k', 'q', 'c' -> 'K';
+            case 'd', 't' -> 'T';
+            case 's', 'z', 'x' -> 'S';
+            case 'l' -> 'L';
+            case 'm' -> 'M';
+            case 'n' -> 'N';
+            case 'r' -> 'R';
+            default -> 0;
+        };
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
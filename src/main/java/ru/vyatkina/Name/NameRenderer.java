@@ -0,0 +1,247 @@
+package ru.vyatkina.Name;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+
+/**
+ * Потоковый вывод имен в канал в кодировке UTF-8 без создания строк.
+ * Байты компонентов копируются прямо из закодированного представления {@link Name}:
+ * однобайтовая кодировка переводится в UTF-8 по таблице, имена в UTF-8 копируются как есть.
+ * Строки накапливаются в нескольких прямых буферах, которые сбрасываются в канал одной
+ * групповой записью, если канал это поддерживает ({@link GatheringByteChannel}, например FileChannel).
+ * Канал закрывается вместе с экземпляром. Экземпляр не потокобезопасен.
+ */
+public final class NameRenderer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BUFFER_COUNT = 4;
+    private static final byte SPACE = ' ';
+    private static final byte DOT = '.';
+    private static final byte NEW_LINE = '\n';
+    private static final int[] UTF8 = new int[256];
+
+    static {
+        for (int code = 0; code < 256; code++) {
+            char c = NameEncoding.decodeChar((byte) code);
+            UTF8[code] = c < 0x80 ? c : (0xC0 | (c >> 6)) << 8 | (0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * Формат вывода имени.
+     */
+    public enum Format {
+        /** "Фамилия Имя Отчество" (как {@link Name#toString()}). */
+        FULL,
+        /** "Фамилия И.О." */
+        SHORT,
+        /** "Имя Фамилия" */
+        FIRST_LAST
+    }
+
+    private final WritableByteChannel channel;
+    private final Format format;
+    private final ByteBuffer[] buffers = new ByteBuffer[BUFFER_COUNT];
+    private int current;
+
+    /**
+     * Создает вывод в канал в указанном формате, по одному имени на строку.
+     * @param channel канал назначения (не может быть null)
+     * @param format формат вывода (не может быть null)
+     */
+    public NameRenderer(WritableByteChannel channel, Format format) {
+        this.channel = Objects.requireNonNull(channel, "Канал не может быть null");
+        this.format = Objects.requireNonNull(format, "Формат не может быть null");
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Записывает имя одной строкой.
+     * @param name имя (не может быть null)
+     * @throws IOException при ошибке записи
+     */
+    public void write(Name name) throws IOException {
+        Objects.requireNonNull(name, "Имя не может быть null");
+        ByteBuffer buffer = reserve(maxLength(name));
+        switch (format) {
+            case FULL -> {
+                boolean written = putComponent(buffer, name, 0, false);
+                written = putComponent(buffer, name, 1, written) || written;
+                putComponent(buffer, name, 2, written);
+            }
+            case SHORT -> {
+                boolean written = putComponent(buffer, name, 0, false);
+                boolean hasInitials = putInitial(buffer, name, 1, written);
+                putInitial(buffer, name, 2, written && !hasInitials);
+            }
+            case FIRST_LAST -> {
+                boolean written = putComponent(buffer, name, 1, false);
+                putComponent(buffer, name, 0, written);
+            }
+        }
+        buffer.put(NEW_LINE);
+    }
+
+    /**
+     * Записывает все имена.
+     * @param names имена (не может быть null)
+     * @throws IOException при ошибке записи
+     */
+    public void writeAll(Iterable<Name> names) throws IOException {
+        Objects.requireNonNull(names, "Коллекция имен не может быть null");
+        for (Name name : names) {
+            write(name);
+        }
+    }
+
+    /**
+     * Записывает накопленные данные в канал.
+     * @throws IOException при ошибке записи
+     */
+    public void flush() throws IOException {
+        int count = current + 1;
+        for (int i = 0; i < count; i++) {
+            buffers[i].flip();
+        }
+        if (channel instanceof GatheringByteChannel gathering) {
+            while (buffers[current].hasRemaining()) {
+                gathering.write(buffers, 0, count);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                while (buffers[i].hasRemaining()) {
+                    channel.write(buffers[i]);
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            buffers[i].clear();
+        }
+        current = 0;
+    }
+
+    /**
+     * Сбрасывает буферы и закрывает канал.
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Записывает компонент имени в буфер в UTF-8.
+     * Буфер должен вмещать не менее {@link #maxLength(Name)} байтов.
+     * @param buffer буфер назначения
+     * @param name имя
+     * @param component 0 - фамилия, 1 - имя, 2 - отчество
+     * @param separate true если перед непустым компонентом нужен пробел
+     * @return true если компонент не пустой и был записан
+     */
+    static boolean putComponent(ByteBuffer buffer, Name name, int component, boolean separate) {
+        int from = name.componentStart(component);
+        int to = name.componentEnd(component);
+        if (from == to) {
+            return false;
+        }
+        if (separate) {
+            buffer.put(SPACE);
+        }
+        put(buffer, name, from, to);
+        return true;
+    }
+
+    /**
+     * Записывает компонент имени в буфер в UTF-8 без разделителя.
+     * @param buffer буфер назначения
+     * @param name имя
+     * @param component 0 - фамилия, 1 - имя, 2 - отчество
+     */
+    static void putComponent(ByteBuffer buffer, Name name, int component) {
+        put(buffer, name, name.componentStart(component), name.componentEnd(component));
+    }
+
+    /**
+     * Возвращает верхнюю оценку длины строки имени в UTF-8 вместе с разделителями.
+     * @param name имя
+     * @return количество байтов
+     */
+    static int maxLength(Name name) {
+        int length = name.encoded().length;
+        return (name.isUtf8() ? length : length * 2) + 8;
+    }
+
+    /**
+     * Записывает инициал компонента с точкой.
+     */
+    private static boolean putInitial(ByteBuffer buffer, Name name, int component, boolean separate) {
+        int from = name.componentStart(component);
+        int to = name.componentEnd(component);
+        if (from == to) {
+            return false;
+        }
+        if (separate) {
+            buffer.put(SPACE);
+        }
+        int length = name.isUtf8() ? utf8SequenceLength(name.encoded()[from]) : 1;
+        put(buffer, name, from, Math.min(from + length, to));
+        buffer.put(DOT);
+        return true;
+    }
+
+    /**
+     * Копирует фрагмент закодированного имени в буфер, переводя однобайтовую кодировку в UTF-8.
+     */
+    private static void put(ByteBuffer buffer, Name name, int from, int to) {
+        byte[] data = name.encoded();
+        if (name.isUtf8()) {
+            buffer.put(data, from, to - from);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            int bytes = UTF8[data[i] & 0xFF];
+            if (bytes < 0x80) {
+                buffer.put((byte) bytes);
+            } else {
+                buffer.put((byte) (bytes >> 8));
+                buffer.put((byte) bytes);
+            }
+        }
+    }
+
+    private static int utf8SequenceLength(byte lead) {
+        int b = lead & 0xFF;
+        if (b < 0x80) {
+            return 1;
+        }
+        return b < 0xE0 ? 2 : b < 0xF0 ? 3 : 4;
+    }
+
+    /**
+     * Возвращает буфер, в котором есть место для указанного количества байтов.
+     * Переходит к следующему буферу или сбрасывает все буферы в канал при заполнении.
+     */
+    private ByteBuffer reserve(int length) throws IOException {
+        if (buffers[current].remaining() >= length) {
+            return buffers[current];
+        }
+        if (current + 1 < BUFFER_COUNT && buffers[current + 1].capacity() >= length) {
+            current++;
+            return buffers[current];
+        }
+        flush();
+        if (buffers[0].capacity() < length) {
+            buffers[0] = ByteBuffer.allocateDirect(length);
+        }
+        return buffers[0];
+    }
+}
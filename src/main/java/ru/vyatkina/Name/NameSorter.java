@@ -0,0 +1,147 @@
+package ru.vyatkina.Name;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Параллельная сортировка имен по ключам сортировки {@link Name#getSortKey()}.
+ * Используется поразрядная сортировка MSD: имена раскладываются по корзинам по очередному
+ * байту ключа, крупные корзины сортируются параллельно в ForkJoinPool,
+ * мелкие - сортировкой вставками. Строки при сравнении не создаются.
+ */
+public final class NameSorter {
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int PARALLEL_THRESHOLD = 8192;
+    private static final int BUCKETS = 257;
+
+    private NameSorter() {
+    }
+
+    /**
+     * Возвращает новый список имен, упорядоченных по {@link Name#compareTo(Name)}.
+     * @param names имена для сортировки (не может быть null и содержать null)
+     * @return отсортированный неизменяемый список
+     */
+    public static List<Name> sorted(Collection<Name> names) {
+        Objects.requireNonNull(names, "Коллекция имен не может быть null");
+        Name[] array = names.toArray(new Name[0]);
+        sort(array);
+        return List.of(array);
+    }
+
+    /**
+     * Сортирует массив имен на месте.
+     * @param names массив имен (не может быть null и содержать null)
+     */
+    public static void sort(Name[] names) {
+        Objects.requireNonNull(names, "Массив имен не может быть null");
+        byte[][] keys = new byte[names.length][];
+        Arrays.parallelSetAll(keys, i -> names[i].sortKey());
+        ForkJoinPool.commonPool().invoke(
+                new RadixTask(names, keys, new Name[names.length], new byte[names.length][], 0, names.length, 0));
+    }
+
+    /**
+     * Задача сортировки диапазона имен по байту ключа с номером depth.
+     */
+    private static final class RadixTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // задачи не сериализуются: массивы нужны только во время сортировки
+        private final transient Name[] names;
+        private final transient byte[][] keys;
+        private final transient Name[] auxNames;
+        private final transient byte[][] auxKeys;
+        private final int from;
+        private final int to;
+        private final int depth;
+
+        RadixTask(Name[] names, byte[][] keys, Name[] auxNames, byte[][] auxKeys, int from, int to, int depth) {
+            this.names = names;
+            this.keys = keys;
+            this.auxNames = auxNames;
+            this.auxKeys = auxKeys;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= INSERTION_SORT_THRESHOLD) {
+                insertionSort();
+                return;
+            }
+
+            int[] starts = new int[BUCKETS + 1];
+            for (int i = from; i < to; i++) {
+                starts[bucket(keys[i]) + 1]++;
+            }
+            for (int b = 0; b < BUCKETS; b++) {
+                starts[b + 1] += starts[b];
+            }
+            int[] next = Arrays.copyOf(starts, BUCKETS);
+            for (int i = from; i < to; i++) {
+                int position = from + next[bucket(keys[i])]++;
+                auxNames[position] = names[i];
+                auxKeys[position] = keys[i];
+            }
+            System.arraycopy(auxNames, from, names, from, to - from);
+            System.arraycopy(auxKeys, from, keys, from, to - from);
+
+            RadixTask[] subtasks = new RadixTask[BUCKETS];
+            for (int b = 1; b < BUCKETS; b++) {
+                int bucketFrom = from + starts[b];
+                int bucketTo = from + starts[b + 1];
+                if (bucketTo - bucketFrom < 2) {
+                    continue;
+                }
+                RadixTask task = new RadixTask(names, keys, auxNames, auxKeys, bucketFrom, bucketTo, depth + 1);
+                if (bucketTo - bucketFrom >= PARALLEL_THRESHOLD) {
+                    subtasks[b] = task;
+                    task.fork();
+                } else {
+                    task.compute();
+                }
+            }
+            for (RadixTask task : subtasks) {
+                if (task != null) {
+                    task.join();
+                }
+            }
+        }
+
+        /**
+         * Возвращает корзину для ключа: 0 - ключ закончился, иначе байт + 1.
+         * @param key ключ сортировки
+         * @return номер корзины
+         */
+        private int bucket(byte[] key) {
+            return depth < key.length ? (key[depth] & 0xFF) + 1 : 0;
+        }
+
+        /**
+         * Сортирует небольшой диапазон вставками, сравнивая ключи начиная с текущего байта.
+         */
+        private void insertionSort() {
+            for (int i = from + 1; i < to; i++) {
+                Name name = names[i];
+                byte[] key = keys[i];
+                int j = i - 1;
+                while (j >= from && Arrays.compareUnsigned(keys[j], depth, keys[j].length,
+                        key, depth, key.length) > 0) {
+                    names[j + 1] = names[j];
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                names[j + 1] = name;
+                keys[j + 1] = key;
+            }
+        }
+    }
+}
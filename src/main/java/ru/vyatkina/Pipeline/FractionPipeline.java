@@ -0,0 +1,227 @@
+package ru.vyatkina.Pipeline;
+
+import ru.vyatkina.Pipeline.Interfaces.BatchTransform;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * Потоковый конвейер обработки дробей на основе {@link Flow} с обратным давлением.
+ * Каждый вызов добавляет стадию ({@link FractionStage}) со своим пулом потоков и ограниченным буфером;
+ * между стадиями передаются пачки элементов.
+ * Пример:
+ * <pre>
+ * PipelineSource&lt;String&gt; source = new PipelineSource&lt;&gt;(256, 16);
+ * CompletableFuture&lt;Void&gt; done = FractionPipeline.from(source)
+ *         .parse(Fraction4::parseFraction, 4, rejected::add)
+ *         .map(f -&gt; f.multiply(half), 4)
+ *         .window(1000, Fraction4::add)
+ *         .forEach(System.out::println);
+ * </pre>
+ * @param <T> тип элементов на выходе последней стадии
+ */
+public final class FractionPipeline<T> {
+    private static final int DEFAULT_BUFFER_CAPACITY = 16;
+
+    private final Flow.Publisher<List<T>> publisher;
+    private final int bufferCapacity;
+
+    private FractionPipeline(Flow.Publisher<List<T>> publisher, int bufferCapacity) {
+        this.publisher = publisher;
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    /**
+     * Начинает конвейер с источника пачек; стадии получают буфер по умолчанию.
+     * @param source источник (не может быть null)
+     * @param <T> тип элементов
+     * @return конвейер
+     */
+    public static <T> FractionPipeline<T> from(Flow.Publisher<List<T>> source) {
+        return from(source, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Начинает конвейер с источника пачек.
+     * @param source источник (не может быть null)
+     * @param bufferCapacity емкость буфера каждой стадии в пачках (больше нуля)
+     * @param <T> тип элементов
+     * @return конвейер
+     * @throws IllegalArgumentException если емкость не положительна
+     */
+    public static <T> FractionPipeline<T> from(Flow.Publisher<List<T>> source, int bufferCapacity) {
+        Objects.requireNonNull(source, "Источник не может быть null");
+        return new FractionPipeline<>(source,
+                FractionStage.requirePositive(bufferCapacity, "Емкость буфера должна быть положительной"));
+    }
+
+    /**
+     * Разбирает строки в дроби. Строки, которые не удалось разобрать, передаются обработчику и пропускаются.
+     * @param parser разбор строки (например, Fraction4::parseFraction)
+     * @param parallelism количество потоков стадии
+     * @param rejected обработчик неверных строк (вызывается из потоков стадии)
+     * @param <R> тип дроби
+     * @return конвейер
+     */
+    public <R> FractionPipeline<R> parse(Function<? super T, R> parser, int parallelism,
+                                        Consumer<? super T> rejected) {
+        Objects.requireNonNull(parser, "Разбор не может быть null");
+        Objects.requireNonNull(rejected, "Обработчик не может быть null");
+        return then(parallelism, (batch, output) -> {
+            for (T item : batch) {
+                try {
+                    output.add(parser.apply(item));
+                } catch (IllegalArgumentException e) {
+                    rejected.accept(item);
+                }
+            }
+        });
+    }
+
+    /**
+     * Приводит дроби к нормальному виду (например, сокращает дроби типа Fraction5).
+     * @param normalizer нормализация дроби
+     * @param parallelism количество потоков стадии
+     * @return конвейер
+     */
+    public FractionPipeline<T> normalize(UnaryOperator<T> normalizer, int parallelism) {
+        return map(normalizer, parallelism);
+    }
+
+    /**
+     * Применяет функцию к каждому элементу, например арифметическую операцию.
+     * @param mapper функция
+     * @param parallelism количество потоков стадии
+     * @param <R> тип результата
+     * @return конвейер
+     */
+    public <R> FractionPipeline<R> map(Function<? super T, R> mapper, int parallelism) {
+        Objects.requireNonNull(mapper, "Функция не может быть null");
+        return then(parallelism, (batch, output) -> {
+            for (T item : batch) {
+                output.add(mapper.apply(item));
+            }
+        });
+    }
+
+    /**
+     * Оставляет только элементы, удовлетворяющие условию.
+     * @param predicate условие
+     * @param parallelism количество потоков стадии
+     * @return конвейер
+     */
+    public FractionPipeline<T> filter(Predicate<? super T> predicate, int parallelism) {
+        Objects.requireNonNull(predicate, "Условие не может быть null");
+        return then(parallelism, (batch, output) -> {
+            for (T item : batch) {
+                if (predicate.test(item)) {
+                    output.add(item);
+                }
+            }
+        });
+    }
+
+    /**
+     * Сворачивает каждые size элементов в один (например, сумма окна через add).
+     * Стадия однопоточная; незаконченное последнее окно выдается при завершении.
+     * @param size размер окна (больше нуля)
+     * @param reducer операция свертки
+     * @return конвейер
+     * @throws IllegalArgumentException если размер не положителен
+     */
+    public FractionPipeline<T> window(int size, BinaryOperator<T> reducer) {
+        FractionStage.requirePositive(size, "Размер окна должен быть положительным");
+        Objects.requireNonNull(reducer, "Операция свертки не может быть null");
+        return then(1, new WindowTransform<>(size, reducer));
+    }
+
+    /**
+     * Подключает потребителя к концу конвейера.
+     * @param action действие для каждого элемента (вызывается последовательно)
+     * @return future, завершающееся после обработки всех элементов или с ошибкой конвейера
+     */
+    public CompletableFuture<Void> forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "Действие не может быть null");
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(bufferCapacity);
+            }
+
+            @Override
+            public void onNext(List<T> batch) {
+                try {
+                    batch.forEach(action);
+                    subscription.request(1);
+                } catch (Throwable e) {
+                    subscription.cancel();
+                    done.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    private <R> FractionPipeline<R> then(int parallelism, BatchTransform<T, R> transform) {
+        FractionStage<T, R> stage = new FractionStage<>(transform, parallelism, bufferCapacity);
+        publisher.subscribe(stage);
+        return new FractionPipeline<>(stage, bufferCapacity);
+    }
+
+    /**
+     * Свертка окнами фиксированного размера. Состояние хранится между пачками,
+     * поэтому используется только в однопоточной стадии.
+     */
+    private static final class WindowTransform<T> implements BatchTransform<T, T> {
+        private final int size;
+        private final BinaryOperator<T> reducer;
+        private T accumulator;
+        private int count;
+
+        WindowTransform(int size, BinaryOperator<T> reducer) {
+            this.size = size;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void apply(List<T> batch, List<T> output) {
+            for (T item : batch) {
+                accumulator = count == 0 ? item : reducer.apply(accumulator, item);
+                if (++count == size) {
+                    output.add(accumulator);
+                    accumulator = null;
+                    count = 0;
+                }
+            }
+        }
+
+        @Override
+        public void complete(List<T> output) {
+            if (count > 0) {
+                output.add(accumulator);
+            }
+        }
+    }
+}
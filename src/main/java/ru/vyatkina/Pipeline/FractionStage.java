@@ -0,0 +1,139 @@
+package ru.vyatkina.Pipeline;
+
+import ru.vyatkina.Pipeline.Interfaces.BatchTransform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Стадия конвейера: получает пачки элементов, обрабатывает их в собственном пуле потоков
+ * и публикует пачки результатов следующей стадии.
+ * Одновременно в обработке находится не больше parallelism пачек: новая пачка запрашивается
+ * у предыдущей стадии только после того, как результат предыдущей принят следующей.
+ * Буфер публикации ограничен, поэтому медленный потребитель останавливает всю цепочку,
+ * а расход памяти не растет под нагрузкой.
+ * При parallelism больше 1 порядок пачек не сохраняется.
+ * @param <I> тип входных элементов
+ * @param <O> тип выходных элементов
+ */
+public final class FractionStage<I, O> extends SubmissionPublisher<List<O>>
+        implements Flow.Processor<List<I>, List<O>> {
+    private final BatchTransform<I, O> transform;
+    private final int parallelism;
+    private final ExecutorService workers;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean upstreamCompleted;
+    private Flow.Subscription subscription;
+
+    /**
+     * Создает стадию.
+     * @param transform преобразование пачки (не может быть null)
+     * @param parallelism количество потоков обработки (больше нуля)
+     * @param bufferCapacity емкость буфера публикации в пачках (больше нуля)
+     * @throws IllegalArgumentException если параметры не положительны
+     */
+    public FractionStage(BatchTransform<I, O> transform, int parallelism, int bufferCapacity) {
+        super(ForkJoinPool.commonPool(), requirePositive(bufferCapacity, "Емкость буфера должна быть положительной"));
+        this.transform = Objects.requireNonNull(transform, "Преобразование не может быть null");
+        this.parallelism = requirePositive(parallelism, "Параллелизм должен быть положительным");
+        this.workers = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform()
+                .name("fraction-stage-", 0).daemon(true).factory());
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(parallelism);
+    }
+
+    @Override
+    public void onNext(List<I> batch) {
+        inFlight.incrementAndGet();
+        workers.execute(() -> {
+            try {
+                List<O> output = new ArrayList<>(batch.size());
+                transform.apply(batch, output);
+                if (!output.isEmpty()) {
+                    submit(output);
+                }
+            } catch (Throwable e) {
+                // и Error тоже: иначе стадия не завершится и подписчик будет ждать вечно
+                fail(e);
+                return;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (upstreamCompleted && inFlight.get() == 0) {
+                finish();
+            } else {
+                subscription.request(1);
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (finished.compareAndSet(false, true)) {
+            closeExceptionally(throwable);
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamCompleted = true;
+        if (inFlight.get() == 0) {
+            finish();
+        }
+    }
+
+    /**
+     * Выдает остаток преобразования и закрывает стадию после обработки всех пачек.
+     */
+    private void finish() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<O> output = new ArrayList<>();
+            transform.complete(output);
+            if (!output.isEmpty()) {
+                submit(output);
+            }
+            close();
+        } catch (Throwable e) {
+            closeExceptionally(e);
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Останавливает конвейер при ошибке преобразования.
+     */
+    private void fail(Throwable e) {
+        subscription.cancel();
+        onError(e);
+    }
+
+    static int requirePositive(int value, String message) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.vyatkina.Pipeline.Interfaces;
+
+import java.util.List;
+
+
+/**
+ * Преобразование пачки элементов на одной стадии конвейера.
+ * @param <I> тип входных элементов
+ * @param <O> тип выходных элементов
+ */
+@FunctionalInterface
+public interface BatchTransform<I, O> {
+
+    /**
+     * Обрабатывает пачку и складывает результаты в выходной список.
+     * @param batch входная пачка
+     * @param output выходной список (сюда добавляются результаты)
+     */
+    void apply(List<I> batch, List<O> output);
+
+    /**
+     * Вызывается после обработки последней пачки, например чтобы выдать незаконченное окно.
+     * @param output выходной список
+     */
+    default void complete(List<O> output) {
+    }
+}
@@ -0,0 +1,65 @@
+package ru.vyatkina.Pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+
+/**
+ * Источник конвейера: собирает отдельные элементы в пачки фиксированного размера и публикует их.
+ * Буфер ограничен, поэтому {@link #add(Object)} блокирует производителя, пока конвейер не освободит место.
+ * Методы потокобезопасны.
+ * @param <T> тип элементов
+ */
+public final class PipelineSource<T> extends SubmissionPublisher<List<T>> {
+    private final int batchSize;
+    private List<T> batch;
+
+    /**
+     * Создает источник.
+     * @param batchSize размер пачки (больше нуля)
+     * @param bufferCapacity емкость буфера в пачках (больше нуля)
+     * @throws IllegalArgumentException если параметры не положительны
+     */
+    public PipelineSource(int batchSize, int bufferCapacity) {
+        super(ForkJoinPool.commonPool(),
+                FractionStage.requirePositive(bufferCapacity, "Емкость буфера должна быть положительной"));
+        this.batchSize = FractionStage.requirePositive(batchSize, "Размер пачки должен быть положительным");
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Добавляет элемент; заполненная пачка публикуется (с ожиданием места в буфере).
+     * @param item элемент
+     * @throws IllegalStateException если источник закрыт
+     */
+    public synchronized void add(T item) {
+        batch.add(item);
+        if (batch.size() == batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Публикует незаполненную пачку.
+     */
+    public synchronized void flush() {
+        if (!batch.isEmpty()) {
+            List<T> full = batch;
+            batch = new ArrayList<>(batchSize);
+            submit(full);
+        }
+    }
+
+    /**
+     * Публикует остаток и сообщает конвейеру о конце данных.
+     */
+    @Override
+    public synchronized void close() {
+        if (!isClosed()) {
+            flush();
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,177 @@
+package ru.vyatkina.Power;
+
+import ru.vyatkina.Fraction.Interfaces.FractionOperations;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Точное возведение в степень.
+ * Целые степени вычисляются быстрым возведением (через квадраты) в long с контролем переполнения;
+ * при переполнении результат вычисляется в BigInteger.
+ * Результаты, потребовавшие BigInteger, запоминаются в небольшом потокобезопасном кеше
+ * прямого отображения, поэтому повторное возведение тех же оснований не пересчитывается.
+ * Кешируются только результаты не длиннее 65536 бит, так что кеш занимает не больше 2 МБ.
+ * Дроби возводятся в степень через {@link FractionOperations}, отрицательная степень дает обратную дробь.
+ */
+public final class Exponentiation {
+    private static final int CACHE_SIZE = 256;
+    private static final int MAX_CACHED_BITS = 1 << 16;
+    private static final long SQRT_LONG_MAX = 3_037_000_499L;
+
+    private static final AtomicReferenceArray<CachedPower> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    /**
+     * Запомненный результат возведения в степень.
+     */
+    private record CachedPower(long base, int exponent, BigInteger value) {
+    }
+
+    private Exponentiation() {
+    }
+
+    /**
+     * Возводит целое число в неотрицательную степень без потери точности.
+     * @param base основание
+     * @param exponent степень (не меньше нуля)
+     * @return точный результат
+     * @throws IllegalArgumentException если степень отрицательна
+     */
+    public static BigInteger pow(long base, int exponent) {
+        requireNonNegative(exponent);
+        long result = 1;
+        long square = base;
+        int remaining = exponent;
+        try {
+            while (remaining > 0) {
+                if ((remaining & 1) != 0) {
+                    result = Math.multiplyExact(result, square);
+                }
+                remaining >>>= 1;
+                if (remaining > 0) {
+                    square = Math.multiplyExact(square, square);
+                }
+            }
+            return BigInteger.valueOf(result);
+        } catch (ArithmeticException overflow) {
+            return cachedBigPow(base, exponent);
+        }
+    }
+
+    /**
+     * Возводит целое число в неотрицательную степень, если результат помещается в long.
+     * @param base основание
+     * @param exponent степень (не меньше нуля)
+     * @return результат
+     * @throws IllegalArgumentException если степень отрицательна
+     * @throws ArithmeticException если результат не помещается в long
+     */
+    public static long powExact(long base, int exponent) {
+        requireNonNegative(exponent);
+        long result = 1;
+        long square = base;
+        int remaining = exponent;
+        while (remaining > 0) {
+            if ((remaining & 1) != 0) {
+                result = Math.multiplyExact(result, square);
+            }
+            remaining >>>= 1;
+            if (remaining > 0) {
+                square = Math.multiplyExact(square, square);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет base^exponent по модулю modulus.
+     * @param base основание (может быть отрицательным)
+     * @param exponent степень (не меньше нуля)
+     * @param modulus модуль (больше нуля)
+     * @return результат от 0 до modulus - 1
+     * @throws IllegalArgumentException если степень отрицательна или модуль не положителен
+     */
+    public static long modPow(long base, long exponent, long modulus) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Степень не может быть отрицательной");
+        }
+        if (modulus <= 0) {
+            throw new IllegalArgumentException("Модуль должен быть положительным");
+        }
+        if (modulus > SQRT_LONG_MAX) {
+            return BigInteger.valueOf(base).modPow(BigInteger.valueOf(exponent), BigInteger.valueOf(modulus))
+                    .longValue();
+        }
+        long result = 1 % modulus;
+        long square = Math.floorMod(base, modulus);
+        long remaining = exponent;
+        while (remaining > 0) {
+            if ((remaining & 1) != 0) {
+                result = result * square % modulus;
+            }
+            remaining >>>= 1;
+            square = square * square % modulus;
+        }
+        return result;
+    }
+
+    /**
+     * Возводит дробь в целую степень. Для отрицательной степени возводится обратная дробь.
+     * Переполнение контролирует только сам тип дроби: дроби на int умножают без проверки,
+     * поэтому для них результат нужно проверять отдельно (см. {@link #powExact(long, int)}).
+     * @param base основание (не может быть null)
+     * @param exponent степень (любая)
+     * @param one единица того же типа, что и основание (не может быть null)
+     * @param <T> тип дроби
+     * @return результат
+     * @throws ArithmeticException или IllegalArgumentException (в зависимости от типа дроби),
+     *         если нулевая дробь возводится в отрицательную степень
+     */
+    public static <T extends FractionOperations<T>> T pow(T base, int exponent, T one) {
+        Objects.requireNonNull(base, "Основание не может быть null");
+        Objects.requireNonNull(one, "Единица не может быть null");
+        T square = exponent < 0 ? one.divide(base) : base;
+        long remaining = Math.abs((long) exponent);
+        T result = one;
+        while (remaining > 0) {
+            if ((remaining & 1) != 0) {
+                result = result.multiply(square);
+            }
+            remaining >>>= 1;
+            if (remaining > 0) {
+                square = square.multiply(square);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возводит в степень в BigInteger, используя кеш.
+     */
+    private static BigInteger cachedBigPow(long base, int exponent) {
+        int slot = slot(base, exponent);
+        CachedPower cached = CACHE.get(slot);
+        if (cached != null && cached.base() == base && cached.exponent() == exponent) {
+            return cached.value();
+        }
+        BigInteger value = BigInteger.valueOf(base).pow(exponent);
+        if (value.bitLength() <= MAX_CACHED_BITS) {
+            CACHE.set(slot, new CachedPower(base, exponent, value));
+        }
+        return value;
+    }
+
+    private static int slot(long base, int exponent) {
+        long h = (base * 0x9E3779B97F4A7C15L) ^ exponent;
+        h ^= h >>> 29;
+        return (int) h & (CACHE_SIZE - 1);
+    }
+
+    private static void requireNonNegative(int exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Степень не может быть отрицательной");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.vyatkina.Secret;
+
+import ru.vyatkina.Secret.Interfaces.SecretEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * Асинхронный слушатель событий секрета.
+ * События складываются в ограниченный кольцевой буфер, который фоновый поток
+ * вычитывает пачками и записывает в буферизованный Writer.
+ * При заполнении буфера создающий секрет поток ждет освобождения места.
+ * Добавление события и закрытие разделены блокировкой чтения-записи: событие, принятое до закрытия,
+ * гарантированно будет записано. Если фоновая запись завершилась ошибкой, следующие события
+ * не принимаются, а ошибка сообщается создающему секрет потоку.
+ */
+public final class AsyncSecretEventSink implements SecretEventListener, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<Secret> buffer;
+    private final Writer writer;
+    private final Thread drainer;
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Создает асинхронный слушатель с буфером по умолчанию.
+     * @param writer приемник сообщений (не может быть null)
+     */
+    public AsyncSecretEventSink(Writer writer) {
+        this(writer, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает асинхронный слушатель.
+     * @param writer приемник сообщений (не может быть null)
+     * @param capacity емкость кольцевого буфера (больше нуля)
+     * @throws IllegalArgumentException если емкость не положительна
+     */
+    public AsyncSecretEventSink(Writer writer, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Емкость буфера должна быть положительной");
+        }
+        this.writer = Objects.requireNonNull(writer, "Приемник сообщений не может быть null");
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.drainer = new Thread(this::drainLoop, "secret-event-sink");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Помещает событие в буфер.
+     * @param secret созданный секрет
+     * @throws IllegalStateException если слушатель уже закрыт или ожидание места в буфере прервано
+     * @throws UncheckedIOException если фоновая запись завершилась ошибкой
+     */
+    @Override
+    public void onSecretCreated(Secret secret) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Слушатель событий уже закрыт");
+            }
+            while (true) {
+                checkFailure();
+                if (buffer.offer(secret, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание места в буфере событий прервано");
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Сообщает об ошибке фоновой записи, если она произошла.
+     * @throws UncheckedIOException если фоновая запись завершилась ошибкой
+     */
+    private void checkFailure() {
+        IOException error = failure;
+        if (error != null) {
+            throw new UncheckedIOException("Фоновая запись событий завершилась ошибкой", error);
+        }
+    }
+
+    /**
+     * Фоновый цикл: забирает события пачками и записывает их.
+     */
+    private void drainLoop() {
+        List<Secret> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (!closed || !buffer.isEmpty()) {
+                Secret first = buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+            writer.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Записывает пачку событий в приемник.
+     * @param batch события для записи
+     * @throws IOException при ошибке записи
+     */
+    private void writeBatch(List<Secret> batch) throws IOException {
+        for (Secret secret : batch) {
+            writer.write(secret.getCurrentKeeperName());
+            writer.write(" сказал(a) что ");
+            writer.write(secret.getText());
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Дожидается записи всех накопленных событий и закрывает приемник.
+     * @throws UncheckedIOException если фоновая запись завершилась ошибкой
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            drainer.join();
+            writer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        checkFailure();
+    }
+}
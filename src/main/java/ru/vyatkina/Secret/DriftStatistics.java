@@ -0,0 +1,120 @@
+package ru.vyatkina.Secret;
+
+import java.util.Arrays;
+
+
+/**
+ * Накопитель статистики искажения секрета по поколениям.
+ * Каждая задача симуляции заполняет собственный экземпляр, а результаты объединяются
+ * при завершении задач, поэтому общего изменяемого состояния между потоками нет.
+ * Поскольку при передаче символы только вставляются, расстояние Левенштейна до исходного
+ * текста равно суммарному приросту длины.
+ */
+final class DriftStatistics {
+    private final int generations;
+    private final long[] lengthSums;
+    private final long[] mutationSums;
+    private final int[] maxDistances;
+    private final long[][] distanceHistograms;
+    private long chains;
+
+    /**
+     * Создает пустую статистику.
+     * @param generations количество передач в каждой цепочке
+     */
+    DriftStatistics(int generations) {
+        this.generations = generations;
+        this.lengthSums = new long[generations + 1];
+        this.mutationSums = new long[generations + 1];
+        this.maxDistances = new int[generations + 1];
+        this.distanceHistograms = new long[generations + 1][16];
+    }
+
+    /**
+     * Учитывает одно поколение цепочки.
+     * @param generation номер поколения (0 для исходного секрета)
+     * @param length длина текста в этом поколении
+     * @param mutations количество вставленных символов при последней передаче
+     * @param distance расстояние до исходного текста
+     */
+    void record(int generation, int length, int mutations, int distance) {
+        lengthSums[generation] += length;
+        mutationSums[generation] += mutations;
+        maxDistances[generation] = Math.max(maxDistances[generation], distance);
+
+        long[] histogram = distanceHistograms[generation];
+        if (distance >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(distance + 1, histogram.length * 2));
+            distanceHistograms[generation] = histogram;
+        }
+        histogram[distance]++;
+    }
+
+    /**
+     * Отмечает завершение очередной цепочки.
+     */
+    void chainCompleted() {
+        chains++;
+    }
+
+    /**
+     * Добавляет к текущей статистике данные другой задачи.
+     * @param other статистика другой задачи
+     * @return текущая статистика
+     */
+    DriftStatistics merge(DriftStatistics other) {
+        chains += other.chains;
+        for (int g = 0; g <= generations; g++) {
+            lengthSums[g] += other.lengthSums[g];
+            mutationSums[g] += other.mutationSums[g];
+            maxDistances[g] = Math.max(maxDistances[g], other.maxDistances[g]);
+
+            long[] source = other.distanceHistograms[g];
+            if (source.length > distanceHistograms[g].length) {
+                distanceHistograms[g] = Arrays.copyOf(distanceHistograms[g], source.length);
+            }
+            long[] target = distanceHistograms[g];
+            for (int d = 0; d < source.length; d++) {
+                target[d] += source[d];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Формирует итоговый отчет.
+     * @return отчет по поколениям
+     */
+    SimulationReport toReport() {
+        SimulationReport.GenerationSummary[] summaries = new SimulationReport.GenerationSummary[generations + 1];
+        for (int g = 0; g <= generations; g++) {
+            double divisor = Math.max(chains, 1);
+            summaries[g] = new SimulationReport.GenerationSummary(
+                    g,
+                    lengthSums[g] / divisor,
+                    mutationSums[g] / divisor,
+                    percentile(distanceHistograms[g], 0.5),
+                    percentile(distanceHistograms[g], 0.9),
+                    maxDistances[g]);
+        }
+        return new SimulationReport(chains, summaries);
+    }
+
+    /**
+     * Вычисляет перцентиль по гистограмме.
+     * @param histogram количество наблюдений для каждого значения
+     * @param quantile доля от 0 до 1
+     * @return значение перцентиля
+     */
+    private int percentile(long[] histogram, double quantile) {
+        long threshold = (long) Math.ceil(chains * quantile);
+        long seen = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            seen += histogram[value];
+            if (seen >= threshold && seen > 0) {
+                return value;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,146 @@
+package ru.vyatkina.Secret;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Вычисление расстояния Левенштейна между текстами секретов.
+ * Используется битово-параллельный алгоритм Майерса в блочном варианте Хюрё:
+ * столбец матрицы расстояний хранится в виде битовых векторов по 64 строки,
+ * поэтому один символ текста обрабатывается за O(m / 64) операций над словами.
+ * Для текстов, где один является подпоследовательностью другого (так получается при передаче,
+ * когда символы только вставляются), расстояние равно разнице длин и вычисляется за O(n).
+ */
+public final class EditDistance {
+    private static final int WORD_SIZE = 64;
+
+    private EditDistance() {
+    }
+
+    /**
+     * Вычисляет расстояние Левенштейна между двумя строками.
+     * @param first первая строка (не может быть null)
+     * @param second вторая строка (не может быть null)
+     * @return минимальное количество вставок, удалений и замен символов
+     */
+    public static int between(CharSequence first, CharSequence second) {
+        Objects.requireNonNull(first, "Строка не может быть null");
+        Objects.requireNonNull(second, "Строка не может быть null");
+        CharSequence pattern = first.length() <= second.length() ? first : second;
+        CharSequence text = pattern == first ? second : first;
+
+        if (isSubsequence(pattern, text)) {
+            return text.length() - pattern.length();
+        }
+        return bitParallel(pattern, text);
+    }
+
+    /**
+     * Проверяет, получается ли длинная строка из короткой только вставками символов.
+     * @param shorter короткая строка
+     * @param longer длинная строка
+     * @return true если shorter является подпоследовательностью longer
+     */
+    public static boolean isSubsequence(CharSequence shorter, CharSequence longer) {
+        int i = 0;
+        int m = shorter.length();
+        for (int j = 0, n = longer.length(); i < m && j < n; j++) {
+            if (shorter.charAt(i) == longer.charAt(j)) {
+                i++;
+            }
+        }
+        return i == m;
+    }
+
+    /**
+     * Блочный битово-параллельный алгоритм для шаблона любой длины.
+     * @param pattern более короткая строка (строки матрицы)
+     * @param text более длинная строка (столбцы матрицы)
+     * @return расстояние Левенштейна
+     */
+    private static int bitParallel(CharSequence pattern, CharSequence text) {
+        int m = pattern.length();
+        if (m == 0) {
+            return text.length();
+        }
+        int blocks = (m + WORD_SIZE - 1) / WORD_SIZE;
+        long lastRowBit = 1L << ((m - 1) % WORD_SIZE);
+        PatternMasks masks = new PatternMasks(pattern, blocks);
+
+        long[] positive = new long[blocks];
+        long[] negative = new long[blocks];
+        Arrays.fill(positive, -1L);
+        int score = m;
+
+        for (int j = 0, n = text.length(); j < n; j++) {
+            long[] equal = masks.get(text.charAt(j));
+            int carry = 1;
+            for (int b = 0; b < blocks; b++) {
+                long highBit = b == blocks - 1 ? lastRowBit : Long.MIN_VALUE;
+                long eq = equal == null ? 0L : equal[b];
+                long pv = positive[b];
+                long mv = negative[b];
+                long carryNegative = carry < 0 ? 1L : 0L;
+                long carryPositive = carry > 0 ? 1L : 0L;
+
+                long xv = eq | mv;
+                eq |= carryNegative;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+
+                carry = (ph & highBit) != 0 ? 1 : (mh & highBit) != 0 ? -1 : 0;
+
+                ph = (ph << 1) | carryPositive;
+                mh = (mh << 1) | carryNegative;
+                positive[b] = mh | ~(xv | ph);
+                negative[b] = ph & xv;
+            }
+            score += carry;
+        }
+        return score;
+    }
+
+    /**
+     * Битовые маски совпадений символов шаблона, по одному массиву блоков на каждый символ.
+     * Символы хранятся в таблице с открытой адресацией, чтобы не упаковывать char в объекты.
+     */
+    private static final class PatternMasks {
+        private final char[] keys;
+        private final long[][] values;
+        private final int mask;
+
+        PatternMasks(CharSequence pattern, int blocks) {
+            int capacity = Integer.highestOneBit(Math.max(pattern.length(), 8) * 2) * 2;
+            this.keys = new char[capacity];
+            this.values = new long[capacity][];
+            this.mask = capacity - 1;
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = slotFor(pattern.charAt(i));
+                if (values[slot] == null) {
+                    keys[slot] = pattern.charAt(i);
+                    values[slot] = new long[blocks];
+                }
+                values[slot][i / WORD_SIZE] |= 1L << (i % WORD_SIZE);
+            }
+        }
+
+        /**
+         * Возвращает маски для символа.
+         * @param c символ текста
+         * @return маски по блокам или null, если символа нет в шаблоне
+         */
+        long[] get(char c) {
+            return values[slotFor(c)];
+        }
+
+        private int slotFor(char c) {
+            int slot = (c * 0x9E3779B1) >>> 16 & mask;
+            while (values[slot] != null && keys[slot] != c) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
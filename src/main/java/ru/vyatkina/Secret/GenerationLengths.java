@@ -0,0 +1,83 @@
+package ru.vyatkina.Secret;
+
+import java.util.Arrays;
+
+
+/**
+ * Длины текста секрета по поколениям одной цепочки передачи.
+ * Хранятся в растущем массиве int, общем для всех секретов цепочки.
+ * Если секрет передают повторно (цепочка ветвится), новая ветка получает копию префикса.
+ */
+final class GenerationLengths {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile int[] lengths;
+    private int size;
+
+    /**
+     * Создает пустой набор длин.
+     * @param capacity начальная емкость
+     */
+    private GenerationLengths(int capacity) {
+        this.lengths = new int[Math.max(capacity, INITIAL_CAPACITY)];
+    }
+
+    /**
+     * Создает набор длин для новой цепочки.
+     * @param rootLength длина исходного текста
+     * @return набор, содержащий одно поколение
+     */
+    static GenerationLengths startingWith(int rootLength) {
+        GenerationLengths result = new GenerationLengths(INITIAL_CAPACITY);
+        result.lengths[0] = rootLength;
+        result.size = 1;
+        return result;
+    }
+
+    /**
+     * Добавляет длину текста очередного поколения.
+     * @param generation номер добавляемого поколения
+     * @param length длина текста этого поколения
+     * @return этот же набор, если поколение продолжает цепочку, иначе новая ветка
+     */
+    synchronized GenerationLengths append(int generation, int length) {
+        if (generation != size) {
+            GenerationLengths branch = new GenerationLengths(generation * 2);
+            System.arraycopy(lengths, 0, branch.lengths, 0, generation);
+            branch.size = generation;
+            return branch.append(generation, length);
+        }
+        int[] current = lengths;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[size++] = length;
+        lengths = current;
+        return this;
+    }
+
+    /**
+     * Возвращает длину текста указанного поколения.
+     * @param generation номер поколения (не больше номера запрашивающего секрета)
+     * @return длина текста
+     */
+    int get(int generation) {
+        return lengths[generation];
+    }
+
+    /**
+     * Возвращает разницы длин для диапазона поколений.
+     * @param base длина, относительно которой вычисляется разница
+     * @param from первое поколение диапазона
+     * @param to последнее поколение диапазона (включительно)
+     * @return абсолютные разницы длин в порядке поколений
+     */
+    int[] differences(int base, int from, int to) {
+        int[] snapshot = lengths;
+        int[] result = new int[to - from + 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.abs(base - snapshot[from + i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.vyatkina.Secret.Interfaces;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Стратегия выбора генератора случайных чисел для искажения текста секрета.
+ * Реализация должна возвращать генератор, которым безопасно пользоваться из текущего потока.
+ */
+@FunctionalInterface
+public interface RandomStrategy {
+
+    /**
+     * Возвращает генератор для текущего потока.
+     * @return генератор случайных чисел
+     */
+    RandomGenerator current();
+
+    /**
+     * Стратегия по умолчанию: собственный генератор у каждого потока, без общего состояния.
+     * @return стратегия на основе ThreadLocalRandom
+     */
+    static RandomStrategy threadLocal() {
+        return ThreadLocalRandom::current;
+    }
+
+    /**
+     * Воспроизводимая стратегия: каждый поток получает свой SplittableRandom,
+     * отщепленный от корневого генератора с заданным зерном.
+     * Общий генератор блокируется только один раз на поток, при первом обращении.
+     * @param seed зерно корневого генератора
+     * @return стратегия с генераторами на поток
+     */
+    static RandomStrategy splittable(long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        ThreadLocal<SplittableRandom> perThread = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        return perThread::get;
+    }
+
+    /**
+     * Стратегия с единственным генератором, например для однопоточного воспроизведения.
+     * @param generator генератор (должен использоваться только из одного потока)
+     * @return стратегия, всегда возвращающая переданный генератор
+     */
+    static RandomStrategy fixed(RandomGenerator generator) {
+        return () -> generator;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.vyatkina.Secret.Interfaces;
+
+import ru.vyatkina.Secret.Secret;
+
+
+/**
+ * Слушатель событий создания и передачи секрета.
+ * Вызывается синхронно из конструктора секрета, поэтому реализация должна быть быстрой.
+ */
+@FunctionalInterface
+public interface SecretEventListener {
+
+    /**
+     * Вызывается после создания секрета или его передачи новому хранителю.
+     * @param secret созданный секрет
+     */
+    void onSecretCreated(Secret secret);
+
+    /**
+     * Слушатель, игнорирующий все события (используется по умолчанию).
+     * @return пустой слушатель
+     */
+    static SecretEventListener noOp() {
+        return secret -> { };
+    }
+
+    /**
+     * Слушатель, печатающий каждое событие в консоль в формате "Имя сказал(a) что текст".
+     * @return консольный слушатель
+     */
+    static SecretEventListener console() {
+        return secret -> System.out.printf("%s сказал(a) что %s%n",
+                secret.getCurrentKeeperName(), secret.getText());
+    }
+}
@@ -0,0 +1,31 @@
+package ru.vyatkina.Secret;
+
+import java.util.List;
+
+
+/**
+ * Вставка одного символа в текст секрета при передаче.
+ * @param position позиция вставки в тексте на момент применения этой вставки
+ * @param character вставленный символ
+ */
+public record Mutation(int position, char character) {
+
+    /**
+     * Применяет вставки к тексту в порядке их следования.
+     * @param text исходный текст
+     * @param mutations список вставок
+     * @return текст после всех вставок
+     * @throws IndexOutOfBoundsException если позиция вставки выходит за границы текста
+     */
+    public static String applyAll(String text, List<Mutation> mutations) {
+        if (mutations.isEmpty()) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length() + mutations.size());
+        sb.append(text);
+        for (Mutation mutation : mutations) {
+            sb.insert(mutation.position(), mutation.character());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package ru.vyatkina.Secret;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * Дерево распространения одного секрета.
+ * Создается вместе с первым хранителем и пополняется при каждой передаче, включая повторные
+ * передачи одного и того же секрета разным людям. Общие части истории не копируются:
+ * каждый секрет ссылается только на предыдущего хранителя.
+ * Запросы к предкам (глубина, общий предок) выполняются самими секретами за O(log N).
+ * Дерево также служит реестром знающих секрет: имя занимается атомарно через CAS во внутренних
+ * ячейках ConcurrentHashMap, поэтому два потока не могут передать секрет одному человеку
+ * даже в разных ветках, и общей блокировки при этом нет.
+ */
+public final class PropagationTree {
+    private final Secret root;
+    private final Map<Secret, Queue<Secret>> children = new ConcurrentHashMap<>();
+    private final Map<String, Secret> keepers = new ConcurrentHashMap<>();
+    private final Set<String> claimedNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Создает дерево с указанным корнем.
+     * @param root секрет первого хранителя
+     */
+    PropagationTree(Secret root) {
+        this.root = root;
+        claimedNames.add(root.getCurrentKeeperName());
+        keepers.put(root.getCurrentKeeperName(), root);
+    }
+
+    /**
+     * Атомарно закрепляет имя за новым хранителем.
+     * @param keeperName имя нового хранителя
+     * @return true если имя свободно и закреплено этим вызовом, false если человек уже знает секрет
+     */
+    boolean claim(String keeperName) {
+        return claimedNames.add(keeperName);
+    }
+
+    /**
+     * Освобождает имя, если передача секрета не состоялась.
+     * @param keeperName ранее закрепленное имя
+     */
+    void release(String keeperName) {
+        claimedNames.remove(keeperName);
+    }
+
+    /**
+     * Добавляет в дерево секрет, полученный при передаче.
+     * @param secret новый секрет (не корень)
+     */
+    void register(Secret secret) {
+        claimedNames.add(secret.getCurrentKeeperName());
+        children.computeIfAbsent(secret.getPrevious(), key -> new ConcurrentLinkedQueue<>()).add(secret);
+        keepers.putIfAbsent(secret.getCurrentKeeperName(), secret);
+    }
+
+    /**
+     * Проверяет, знает ли человек секрет (в любой ветке).
+     * @param keeperName имя для проверки
+     * @return true если имя уже закреплено в дереве
+     */
+    public boolean isKnownBy(String keeperName) {
+        return claimedNames.contains(Objects.requireNonNull(keeperName, "Имя хранителя не может быть null"));
+    }
+
+    /**
+     * Возвращает секрет первого хранителя.
+     * @return корень дерева
+     */
+    public Secret getRoot() {
+        return root;
+    }
+
+    /**
+     * Ищет секрет хранителя по имени.
+     * @param keeperName имя хранителя
+     * @return секрет этого хранителя, если он есть в дереве
+     */
+    public Optional<Secret> findKeeper(String keeperName) {
+        return Optional.ofNullable(keepers.get(Objects.requireNonNull(keeperName, "Имя хранителя не может быть null")));
+    }
+
+    /**
+     * Возвращает имя человека, от которого хранитель узнал секрет.
+     * @param keeperName имя хранителя
+     * @return имя предыдущего хранителя; пусто, если хранителя нет в дереве или он первый
+     */
+    public Optional<String> whoToldTo(String keeperName) {
+        return findKeeper(keeperName)
+                .map(Secret::getPrevious)
+                .map(Secret::getCurrentKeeperName);
+    }
+
+    /**
+     * Возвращает секреты, которые хранитель передал напрямую.
+     * @param secret секрет хранителя
+     * @return неизменяемый список прямых получателей
+     */
+    public List<Secret> getChildren(Secret secret) {
+        Queue<Secret> direct = children.get(secret);
+        return direct == null ? List.of() : List.copyOf(direct);
+    }
+
+    /**
+     * Перечисляет всех, кто узнал секрет от хранителя напрямую или через других людей.
+     * Обход выполняется в глубину без рекурсии.
+     * @param secret секрет хранителя
+     * @return неизменяемый список потомков (без самого хранителя)
+     */
+    public List<Secret> getDescendants(Secret secret) {
+        List<Secret> result = new ArrayList<>();
+        Deque<Secret> stack = new ArrayDeque<>(getChildren(secret));
+        while (!stack.isEmpty()) {
+            Secret current = stack.pop();
+            result.add(current);
+            Queue<Secret> next = children.get(current);
+            if (next != null) {
+                next.forEach(stack::push);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Возвращает количество людей, знающих секрет.
+     * @return количество различных имен хранителей в дереве
+     */
+    public int size() {
+        return claimedNames.size();
+    }
+}
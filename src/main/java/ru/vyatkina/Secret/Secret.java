@@ -1,52 +1,117 @@
 package ru.vyatkina.Secret;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+import ru.vyatkina.Secret.Interfaces.SecretEventListener;
+
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 /**
  * Задание 2.2:
  * Класс для представления секрета, который может быть передан только одному человеку.
  * При передаче текст секрета незначительно искажается добавлением случайных символов.
- * Секрет хранит историю всех своих хранителей.
+ * Секрет хранит ссылку на предыдущего хранителя, а все передачи образуют общее
+ * {@link PropagationTree дерево распространения}, в котором ветки разделяют общую историю.
+ * Для запросов к предкам каждый секрет хранит одну дополнительную "скачущую" ссылку
+ * (jump pointer), что дает O(log N) на поиск предка и общего предка без копирования истории.
+ * Источник случайности задается стратегией {@link RandomStrategy}, а уведомления о передаче
+ * получает {@link SecretEventListener}; обе настройки наследуются при передаче.
  */
 public final class Secret {
-    private static final Random RANDOM = new Random();
     private static final double TEXT_MODIFICATION_PERCENT = 0.1;
 
     private final String text;
     private final String keeperName;
-    private final List<String> keepersHistory;
+    private final Secret previous;
+    private final Secret jump;
+    private final List<Mutation> mutations;
+    private final int generation;
+    private final PropagationTree tree;
+    private final GenerationLengths lengths;
+    private final RandomStrategy randomStrategy;
+    private final SecretEventListener eventListener;
 
     /**
-     * Создает новый секрет.
+     * Создает новый секрет с генераторами случайных чисел на поток и без уведомлений.
      * @param keeperName имя первого хранителя секрета (не может быть null или пустым)
      * @param text текст секрета (не может быть null или пустым)
      * @throws IllegalArgumentException если keeperName или text невалидны
      */
     public Secret(String keeperName, String text) {
+        this(keeperName, text, RandomStrategy.threadLocal());
+    }
+
+    /**
+     * Создает новый секрет с заданной стратегией случайности.
+     * @param keeperName имя первого хранителя секрета (не может быть null или пустым)
+     * @param text текст секрета (не может быть null или пустым)
+     * @param randomStrategy стратегия выбора генератора (не может быть null)
+     * @throws IllegalArgumentException если keeperName или text невалидны
+     */
+    public Secret(String keeperName, String text, RandomStrategy randomStrategy) {
+        this(keeperName, text, randomStrategy, SecretEventListener.noOp());
+    }
+
+    /**
+     * Создает новый секрет с заданными стратегией случайности и слушателем событий.
+     * @param keeperName имя первого хранителя секрета (не может быть null или пустым)
+     * @param text текст секрета (не может быть null или пустым)
+     * @param randomStrategy стратегия выбора генератора (не может быть null)
+     * @param eventListener слушатель создания и передачи секрета (не может быть null)
+     * @throws IllegalArgumentException если keeperName или text невалидны
+     */
+    public Secret(String keeperName, String text, RandomStrategy randomStrategy,
+                  SecretEventListener eventListener) {
         validateInput(keeperName, text);
         this.text = text;
         this.keeperName = keeperName;
-        this.keepersHistory = new ArrayList<>();
-        this.keepersHistory.add(keeperName);
-        printCreationMessage();
+        this.previous = null;
+        this.jump = this;
+        this.mutations = List.of();
+        this.generation = 0;
+        this.lengths = GenerationLengths.startingWith(text.length());
+        this.randomStrategy = Objects.requireNonNull(randomStrategy, "Стратегия случайности не может быть null");
+        this.eventListener = Objects.requireNonNull(eventListener, "Слушатель событий не может быть null");
+        this.tree = new PropagationTree(this);
+        eventListener.onSecretCreated(this);
     }
 
     /**
-     * Внутренний конструктор для создания нового секрета при передаче.
+     * Внутренний конструктор для создания нового секрета при передаче или восстановлении из журнала.
      * @param keeperName имя нового хранителя
-     * @param text модифицированный текст секрета
-     * @param keepersHistory история предыдущих хранителей
+     * @param previous секрет предыдущего хранителя
+     * @param mutations вставки, искажающие текст предыдущего хранителя
      */
-    private Secret(String keeperName, String text, List<String> keepersHistory) {
-        this.text = text;
+    Secret(String keeperName, Secret previous, List<Mutation> mutations) {
+        this.text = Mutation.applyAll(previous.text, mutations);
         this.keeperName = keeperName;
-        this.keepersHistory = new ArrayList<>(keepersHistory);
-        this.keepersHistory.add(keeperName);
-        printCreationMessage();
+        this.previous = previous;
+        this.jump = jumpTargetFor(previous);
+        this.mutations = List.copyOf(mutations);
+        this.randomStrategy = previous.randomStrategy;
+        this.eventListener = previous.eventListener;
+        this.generation = previous.generation + 1;
+        this.lengths = previous.lengths.append(generation, text.length());
+        this.tree = previous.tree;
+        // регистрация после слушателя: если он бросит исключение, в дереве не останется лишнего узла
+        eventListener.onSecretCreated(this);
+        tree.register(this);
+    }
+
+    /**
+     * Выбирает "скачущую" ссылку для нового секрета по схеме косых двоичных чисел:
+     * если два последних прыжка родителя имеют одинаковую длину, они склеиваются в один.
+     * @param parent секрет предыдущего хранителя
+     * @return дальний предок, на которого будет указывать новый секрет
+     */
+    private static Secret jumpTargetFor(Secret parent) {
+        Secret parentJump = parent.jump;
+        if (parent.generation - parentJump.generation == parentJump.generation - parentJump.jump.generation) {
+            return parentJump.jump;
+        }
+        return parent;
     }
 
     /**
@@ -62,15 +127,10 @@ public final class Secret {
         }
     }
 
-    /**
-     * Выводит сообщение о создании/передаче секрета.
-     */
-    private void printCreationMessage() {
-        System.out.printf("%s сказал(a) что %s%n", keeperName, text);
-    }
-
     /**
      * Передает секрет новому хранителю.
+     * Имя атомарно закрепляется в дереве распространения, поэтому передача одному человеку
+     * из разных веток или потоков удается только один раз.
      * @param newKeeperName имя нового хранителя (не может быть null)
      * @return новый объект Secret с измененным текстом
      * @throws IllegalArgumentException если newKeeperName уже знал секрет
@@ -78,31 +138,38 @@ public final class Secret {
     public Secret tellSecretTo(String newKeeperName) {
         Objects.requireNonNull(newKeeperName, "Имя нового хранителя не может быть null");
 
-        if (keepersHistory.contains(newKeeperName)) {
+        if (!tree.claim(newKeeperName)) {
             throw new IllegalArgumentException(
                     String.format("%s уже знает этот секрет", newKeeperName));
         }
 
-        String modifiedText = modifyText(text);
-        return new Secret(newKeeperName, modifiedText, keepersHistory);
+        try {
+            return new Secret(newKeeperName, this, randomMutations(text));
+        } catch (RuntimeException e) {
+            tree.release(newKeeperName);
+            throw e;
+        }
     }
 
     /**
-     * Модифицирует текст секрета добавлением случайных символов.
+     * Выбирает случайные вставки символов, искажающие текст секрета.
      * @param originalText исходный текст
-     * @return модифицированный текст
+     * @return список вставок в порядке применения
      */
-    private String modifyText(String originalText) {
+    private List<Mutation> randomMutations(String originalText) {
+        RandomGenerator random = randomStrategy.current();
         int maxModifications = (int) (originalText.length() * TEXT_MODIFICATION_PERCENT);
-        int modificationsCount = RANDOM.nextInt(maxModifications + 1);
+        int modificationsCount = random.nextInt(maxModifications + 1);
 
-        StringBuilder sb = new StringBuilder(originalText);
+        Mutation[] result = new Mutation[modificationsCount];
+        int length = originalText.length();
         for (int i = 0; i < modificationsCount; i++) {
-            char randomChar = (char) (RANDOM.nextInt(26) + 'a');
-            int randomPosition = RANDOM.nextInt(sb.length() + 1);
-            sb.insert(randomPosition, randomChar);
+            char randomChar = (char) (random.nextInt(26) + 'a');
+            int randomPosition = random.nextInt(length + 1);
+            result[i] = new Mutation(randomPosition, randomChar);
+            length++;
         }
-        return sb.toString();
+        return List.of(result);
     }
 
     /**
@@ -114,20 +181,111 @@ public final class Secret {
         return keeperName + ": это секрет!";
     }
 
+    /**
+     * Возвращает имя текущего хранителя.
+     * @return имя хранителя
+     */
+    public String getCurrentKeeperName() {
+        return keeperName;
+    }
+
+    /**
+     * Возвращает текст секрета в том виде, в котором его знает текущий хранитель.
+     * @return текст секрета
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Возвращает вставки, которыми текст отличается от текста предыдущего хранителя.
+     * @return неизменяемый список вставок (пустой для первого хранителя)
+     */
+    public List<Mutation> getMutations() {
+        return mutations;
+    }
+
+    /**
+     * Возвращает номер поколения секрета (0 для первого хранителя).
+     * @return номер поколения
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Возвращает секрет предыдущего хранителя (от кого текущий хранитель узнал секрет).
+     * @return предыдущий секрет или null для первого хранителя
+     */
+    public Secret getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Возвращает дерево распространения, к которому относится секрет.
+     * @return общее дерево всех передач этого секрета
+     */
+    public PropagationTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Возвращает предка текущего хранителя с указанным номером поколения за O(log N).
+     * @param targetGeneration номер поколения от 0 до номера текущего поколения
+     * @return секрет хранителя этого поколения в текущей ветке
+     * @throws IndexOutOfBoundsException если поколение выходит за границы
+     */
+    public Secret getAncestor(int targetGeneration) {
+        if (targetGeneration < 0 || targetGeneration > generation) {
+            throw new IndexOutOfBoundsException("Не существует хранителя с таким индексом");
+        }
+        Secret current = this;
+        while (current.generation > targetGeneration) {
+            current = current.jump.generation >= targetGeneration ? current.jump : current.previous;
+        }
+        return current;
+    }
+
+    /**
+     * Находит ближайшего общего предка двух секретов за O(log N).
+     * @param other секрет из того же дерева распространения
+     * @return секрет последнего хранителя, общего для обеих веток
+     * @throws IllegalArgumentException если секреты относятся к разным деревьям
+     */
+    public Secret findCommonAncestorWith(Secret other) {
+        Objects.requireNonNull(other, "Другой секрет не может быть null");
+        if (other.tree != tree) {
+            throw new IllegalArgumentException("Секреты относятся к разным деревьям распространения");
+        }
+        Secret a = getAncestor(Math.min(generation, other.generation));
+        Secret b = other.getAncestor(a.generation);
+        while (a != b) {
+            if (a.jump != b.jump) {
+                a = a.jump;
+                b = b.jump;
+            } else {
+                a = a.previous;
+                b = b.previous;
+            }
+        }
+        return a;
+    }
+
     /**
      * Возвращает порядковый номер текущего хранителя.
      * @return номер хранителя (начиная с 1)
      */
     public int getKeeperOrder() {
-        return keepersHistory.indexOf(keeperName) + 1;
+        return generation + 1;
     }
 
     /**
-     * Возвращает количество людей, узнавших секрет после текущего хранителя.
+     * Возвращает количество людей, узнавших секрет после текущего хранителя
+     * (от него напрямую или через других людей).
      * @return количество последующих хранителей
      */
     public int getNumberOfPeopleKnowAfter() {
-        return keepersHistory.size() - getKeeperOrder();
+        return tree.getDescendants(this).size();
     }
 
     /**
@@ -137,34 +295,91 @@ public final class Secret {
      * @throws IndexOutOfBoundsException если индекс выходит за границы
      */
     public String getKeeperName(int n) {
-        int currentIndex = keepersHistory.indexOf(keeperName);
-        int targetIndex = currentIndex + n;
-
-        if (targetIndex < 0 || targetIndex >= keepersHistory.size()) {
-            throw new IndexOutOfBoundsException("Не существует хранителя с таким индексом");
-        }
-
-        return keepersHistory.get(targetIndex);
+        return getAncestor(checkedGeneration(n)).keeperName;
     }
 
     /**
      * Возвращает разницу в длине текста секрета с N-ым хранителем.
+     * Используются фактические длины текста, записанные при каждой передаче.
      * @param n смещение относительно текущего хранителя
      * @return абсолютная разница в длине текста
+     * @throws IndexOutOfBoundsException если индекс выходит за границы
      */
     public int getTextDifferenceWith(int n) {
-        String otherKeeperName = getKeeperName(n);
-        int otherTextLength = calculateTextLengthForKeeper(otherKeeperName);
-        return Math.abs(text.length() - otherTextLength);
+        return Math.abs(text.length() - lengths.get(checkedGeneration(n)));
+    }
+
+    /**
+     * Возвращает разницы в длине текста секрета с каждым хранителем из диапазона.
+     * @param fromN смещение первого хранителя диапазона относительно текущего
+     * @param toN смещение последнего хранителя диапазона (включительно)
+     * @return абсолютные разницы в длине текста в порядке хранителей
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы
+     * @throws IllegalArgumentException если fromN больше toN
+     */
+    public int[] getTextDifferencesWith(int fromN, int toN) {
+        if (fromN > toN) {
+            throw new IllegalArgumentException("Начало диапазона не может быть больше конца");
+        }
+        return lengths.differences(text.length(), checkedGeneration(fromN), checkedGeneration(toN));
+    }
+
+    /**
+     * Возвращает расстояние Левенштейна между текстом секрета и текстом N-го хранителя.
+     * @param n смещение относительно текущего хранителя
+     * @return минимальное количество правок, переводящих один текст в другой
+     * @throws IndexOutOfBoundsException если индекс выходит за границы
+     */
+    public int distanceTo(int n) {
+        return distanceTo(getAncestor(checkedGeneration(n)));
+    }
+
+    /**
+     * Возвращает расстояние Левенштейна между текстами двух секретов, в том числе из разных веток.
+     * Для хранителей одной ветки используется быстрый путь за O(n): тексты отличаются только вставками.
+     * @param other другой секрет (не может быть null)
+     * @return минимальное количество правок, переводящих один текст в другой
+     */
+    public int distanceTo(Secret other) {
+        Objects.requireNonNull(other, "Другой секрет не может быть null");
+        return EditDistance.between(text, other.text);
+    }
+
+    /**
+     * Параллельно вычисляет расстояния от текста секрета до текстов всех предыдущих хранителей.
+     * @return массив расстояний, где индекс равен номеру поколения хранителя
+     */
+    public int[] getDistancesToPreviousKeepers() {
+        return IntStream.rangeClosed(0, generation)
+                .parallel()
+                .map(g -> distanceTo(getAncestor(g)))
+                .toArray();
+    }
+
+    /**
+     * Параллельно вычисляет расстояния от текста секрета до текстов указанных секретов.
+     * @param others секреты для сравнения (не может быть null)
+     * @return массив расстояний в порядке следования секретов
+     */
+    public int[] getDistancesTo(List<Secret> others) {
+        Objects.requireNonNull(others, "Список секретов не может быть null");
+        return others.parallelStream()
+                .mapToInt(this::distanceTo)
+                .toArray();
     }
 
     /**
-     * Вычисляет предполагаемую длину текста для указанного хранителя.
+     * Переводит смещение относительно текущего хранителя в номер поколения.
+     * @param n смещение относительно текущего хранителя
+     * @return номер поколения
+     * @throws IndexOutOfBoundsException если индекс выходит за границы
      */
-    private int calculateTextLengthForKeeper(String keeper) {
-        int keeperIndex = keepersHistory.indexOf(keeper);
-        int modifications = keeperIndex * (int)(text.length() * TEXT_MODIFICATION_PERCENT / 2);
-        return text.length() + modifications;
+    private int checkedGeneration(int n) {
+        long targetIndex = (long) generation + n;
+        if (targetIndex < 0 || targetIndex > generation) {
+            throw new IndexOutOfBoundsException("Не существует хранителя с таким индексом");
+        }
+        return (int) targetIndex;
     }
 
     /**
@@ -172,6 +387,10 @@ public final class Secret {
      * @return список имен хранителей в порядке получения секрета
      */
     public List<String> getKeepersHistory() {
-        return Collections.unmodifiableList(keepersHistory);
+        String[] history = new String[generation + 1];
+        for (Secret s = this; s != null; s = s.previous) {
+            history[s.generation] = s.keeperName;
+        }
+        return List.of(history);
     }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package ru.vyatkina.Secret;
+
+import ru.vyatkina.Secret.Interfaces.SecretEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+
+/**
+ * Журнал передач секрета, дописываемый в отображенный в память файл.
+ * Каждая передача сохраняется компактной двоичной записью: имя хранителя, номер записи-родителя,
+ * длина текста и вставленные символы с позициями. Через каждые {@value #SNAPSHOT_INTERVAL}
+ * поколений в запись добавляется полный текст, чтобы восстановление не требовало
+ * применения всей истории вставок. Журнал подключается к секрету как слушатель событий.
+ *
+ * <p>Формат записи: длина записи (int), номер родителя (int, -1 для корня), поколение (int),
+ * флаги (byte), имя хранителя (short + UTF-8), длина текста (int), полный текст при флаге
+ * {@value #FLAG_SNAPSHOT} (int + UTF-8), количество вставок (int) и вставки (int + char).
+ */
+public final class SecretJournal implements SecretEventListener, AutoCloseable {
+    static final int MAGIC = 0x534A524E;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int SNAPSHOT_INTERVAL = 64;
+    static final byte FLAG_SNAPSHOT = 1;
+
+    private static final int DEFAULT_FORCE_INTERVAL = 4096;
+    private static final long REGION_SIZE = 1L << 24;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private final FileChannel channel;
+    private final int forceInterval;
+    private final Map<Secret, Integer> recordIds = new WeakHashMap<>();
+    private MappedByteBuffer region;
+    private long regionStart;
+    private int records;
+    private int recordsSinceForce;
+    private boolean closed;
+
+    /**
+     * Создает новый журнал с принудительной записью на диск каждые 4096 записей.
+     * @param file путь к файлу журнала (существующий файл перезаписывается)
+     * @throws IOException если файл не удалось открыть
+     */
+    public SecretJournal(Path file) throws IOException {
+        this(file, DEFAULT_FORCE_INTERVAL);
+    }
+
+    /**
+     * Создает новый журнал.
+     * @param file путь к файлу журнала (существующий файл перезаписывается)
+     * @param forceInterval через сколько записей вызывать force() (больше нуля)
+     * @throws IOException если файл не удалось открыть
+     * @throws IllegalArgumentException если forceInterval не положителен
+     */
+    public SecretJournal(Path file, int forceInterval) throws IOException {
+        Objects.requireNonNull(file, "Путь к журналу не может быть null");
+        if (forceInterval <= 0) {
+            throw new IllegalArgumentException("Интервал сброса на диск должен быть положительным");
+        }
+        this.forceInterval = forceInterval;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+        region.putInt(MAGIC);
+        region.putInt(VERSION);
+    }
+
+    /**
+     * Дописывает передачу секрета в журнал.
+     * @param secret созданный секрет
+     * @throws IllegalStateException если журнал закрыт
+     * @throws IllegalArgumentException если имя хранителя в UTF-8 длиннее 65535 байт
+     * @throws UncheckedIOException при ошибке записи
+     */
+    @Override
+    public synchronized void onSecretCreated(Secret secret) {
+        if (closed) {
+            throw new IllegalStateException("Журнал уже закрыт");
+        }
+        byte[] name = secret.getCurrentKeeperName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            // длина имени записывается в short: более длинное имя испортило бы журнал
+            throw new IllegalArgumentException("Имя хранителя длиннее " + MAX_NAME_BYTES
+                    + " байт не помещается в журнал");
+        }
+        Integer parentId = secret.getPrevious() == null ? null : recordIds.get(secret.getPrevious());
+        int parent = parentId == null ? -1 : parentId;
+        boolean snapshot = parent < 0 || secret.getGeneration() % SNAPSHOT_INTERVAL == 0;
+
+        byte[] text = snapshot ? secret.getText().getBytes(StandardCharsets.UTF_8) : null;
+        List<Mutation> mutations = secret.getMutations();
+        int size = 4 + 4 + 4 + 1 + 2 + name.length + 4 + (snapshot ? 4 + text.length : 0)
+                + 4 + mutations.size() * (4 + 2);
+
+        ensureCapacity(size);
+        region.putInt(size);
+        region.putInt(parent);
+        region.putInt(secret.getGeneration());
+        region.put(snapshot ? FLAG_SNAPSHOT : 0);
+        region.putShort((short) name.length);
+        region.put(name);
+        region.putInt(secret.getText().length());
+        if (snapshot) {
+            region.putInt(text.length);
+            region.put(text);
+        }
+        region.putInt(mutations.size());
+        for (Mutation mutation : mutations) {
+            region.putInt(mutation.position());
+            region.putChar(mutation.character());
+        }
+
+        recordIds.put(secret, records++);
+        if (++recordsSinceForce >= forceInterval) {
+            force();
+        }
+    }
+
+    /**
+     * Возвращает количество записей в журнале.
+     * @return количество записей
+     */
+    public synchronized int size() {
+        return records;
+    }
+
+    /**
+     * Принудительно сбрасывает записанные данные на диск (контрольная точка).
+     */
+    public synchronized void force() {
+        region.force();
+        recordsSinceForce = 0;
+    }
+
+    /**
+     * Отображает в память новую область файла, если текущей не хватает для записи.
+     * @param size размер очередной записи
+     */
+    private void ensureCapacity(int size) {
+        if (region.remaining() >= size) {
+            return;
+        }
+        region.force();
+        regionStart += region.position();
+        try {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Сбрасывает данные на диск, обрезает файл до фактического размера и закрывает его.
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        region.force();
+        long end = regionStart + region.position();
+        region = null;
+        channel.truncate(end);
+        channel.close();
+    }
+}
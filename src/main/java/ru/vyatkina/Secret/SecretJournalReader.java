@@ -0,0 +1,257 @@
+package ru.vyatkina.Secret;
+
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Чтение журнала передач секрета, созданного {@link SecretJournal}.
+ * При открытии строится разреженный индекс смещений (каждая {@value #INDEX_INTERVAL}-я запись),
+ * поэтому переход к произвольной записи требует не более {@value #INDEX_INTERVAL} шагов по заголовкам.
+ * Записи нумеруются в порядке создания секретов; номер записи совпадает с поколением только
+ * для одной цепочки без ветвлений. Запись поколения k в цепочке, которая заканчивается
+ * данной записью, находится через {@link #ancestorRecord(int, int)} за O(log N) по "скачущим"
+ * ссылкам, построенным при открытии так же, как в {@link Secret}.
+ * Восстановление текста начинается с ближайшей записи с полным текстом, без повторения случайности.
+ * Файл отображается в память целиком, поэтому его размер ограничен 2 ГБ.
+ */
+public final class SecretJournalReader {
+    private static final int INDEX_INTERVAL = 16;
+
+    private final MappedByteBuffer data;
+    private final long[] sparseIndex;
+    private final int records;
+    private final int[] parents;
+    private final int[] generations;
+    private final int[] jumps;
+
+    /**
+     * Запись журнала.
+     * @param keeperName имя хранителя
+     * @param parent номер записи предыдущего хранителя (-1 для первого хранителя)
+     * @param generation номер поколения
+     * @param textLength длина текста секрета
+     * @param snapshotText полный текст, если он сохранен в записи, иначе null
+     * @param mutations вставки относительно текста предыдущего хранителя
+     */
+    public record Entry(String keeperName, int parent, int generation, int textLength,
+                        String snapshotText, List<Mutation> mutations) {
+    }
+
+    /**
+     * Открывает журнал для чтения.
+     * @param file путь к файлу журнала
+     * @throws IOException если файл не удалось прочитать
+     * @throws IllegalArgumentException если файл не является журналом секрета
+     */
+    public SecretJournalReader(Path file) throws IOException {
+        Objects.requireNonNull(file, "Путь к журналу не может быть null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.limit() < SecretJournal.HEADER_SIZE || data.getInt(0) != SecretJournal.MAGIC
+                || data.getInt(4) != SecretJournal.VERSION) {
+            throw new IllegalArgumentException("Файл не является журналом секрета");
+        }
+
+        long[] index = new long[16];
+        int[] parentOf = new int[16];
+        int[] generationOf = new int[16];
+        int[] jumpOf = new int[16];
+        int count = 0;
+        int offset = SecretJournal.HEADER_SIZE;
+        while (offset + 4 <= data.limit()) {
+            int size = data.getInt(offset);
+            if (size <= 0 || offset + size > data.limit()) {
+                break;
+            }
+            if (count % INDEX_INTERVAL == 0) {
+                int slot = count / INDEX_INTERVAL;
+                if (slot == index.length) {
+                    index = Arrays.copyOf(index, index.length * 2);
+                }
+                index[slot] = offset;
+            }
+            if (count == parentOf.length) {
+                parentOf = Arrays.copyOf(parentOf, count * 2);
+                generationOf = Arrays.copyOf(generationOf, count * 2);
+                jumpOf = Arrays.copyOf(jumpOf, count * 2);
+            }
+            int parent = data.getInt(offset + 4);
+            parentOf[count] = parent;
+            generationOf[count] = data.getInt(offset + 8);
+            jumpOf[count] = parent < 0 ? count : jumpTarget(parent, generationOf, jumpOf);
+            count++;
+            offset += size;
+        }
+        this.sparseIndex = index;
+        this.records = count;
+        this.parents = parentOf;
+        this.generations = generationOf;
+        this.jumps = jumpOf;
+    }
+
+    /**
+     * Выбирает "скачущую" ссылку записи по схеме косых двоичных чисел (как в {@link Secret}).
+     * @param parent номер записи-родителя (записи-родители всегда идут раньше потомков)
+     * @param generationOf поколения уже прочитанных записей
+     * @param jumpOf "скачущие" ссылки уже прочитанных записей
+     * @return номер записи дальнего предка
+     */
+    private static int jumpTarget(int parent, int[] generationOf, int[] jumpOf) {
+        int parentJump = jumpOf[parent];
+        if (generationOf[parent] - generationOf[parentJump]
+                == generationOf[parentJump] - generationOf[jumpOf[parentJump]]) {
+            return jumpOf[parentJump];
+        }
+        return parent;
+    }
+
+    /**
+     * Возвращает количество записей в журнале.
+     * @return количество записей
+     */
+    public int size() {
+        return records;
+    }
+
+    /**
+     * Находит запись предка указанного поколения в цепочке, которая заканчивается записью record.
+     * @param record номер последней записи цепочки
+     * @param generation номер поколения от 0 до поколения записи record
+     * @return номер записи хранителя этого поколения
+     * @throws IndexOutOfBoundsException если записи нет или это поколение не попало в журнал
+     */
+    public int ancestorRecord(int record, int generation) {
+        checkRecord(record);
+        if (generation < 0 || generation > generations[record]) {
+            throw new IndexOutOfBoundsException("В цепочке записи " + record + " нет поколения " + generation);
+        }
+        int current = record;
+        while (generations[current] > generation) {
+            int jump = jumps[current];
+            if (jump != current && generations[jump] >= generation) {
+                current = jump;
+            } else if (parents[current] >= 0) {
+                current = parents[current];
+            } else {
+                throw new IndexOutOfBoundsException("Поколение " + generation + " не записано в журнал");
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Читает запись по ее номеру.
+     * @param record номер записи
+     * @return прочитанная запись
+     * @throws IndexOutOfBoundsException если записи с таким номером нет
+     */
+    public Entry entry(int record) {
+        ByteBuffer buffer = data.duplicate();
+        buffer.position(offsetOf(record) + 4);
+
+        int parent = buffer.getInt();
+        int generation = buffer.getInt();
+        boolean snapshot = (buffer.get() & SecretJournal.FLAG_SNAPSHOT) != 0;
+        String keeperName = readString(buffer, Short.toUnsignedInt(buffer.getShort()));
+        int textLength = buffer.getInt();
+        String snapshotText = snapshot ? readString(buffer, buffer.getInt()) : null;
+
+        Mutation[] mutations = new Mutation[buffer.getInt()];
+        for (int i = 0; i < mutations.length; i++) {
+            mutations[i] = new Mutation(buffer.getInt(), buffer.getChar());
+        }
+        return new Entry(keeperName, parent, generation, textLength, snapshotText, List.of(mutations));
+    }
+
+    /**
+     * Восстанавливает текст секрета, записанный в указанной записи.
+     * @param record номер записи
+     * @return текст секрета этого хранителя
+     * @throws IndexOutOfBoundsException если записи с таким номером нет
+     */
+    public String textAt(int record) {
+        Deque<Entry> pending = new ArrayDeque<>();
+        Entry entry = entry(record);
+        while (entry.snapshotText() == null) {
+            pending.push(entry);
+            entry = entry(entry.parent());
+        }
+        String text = entry.snapshotText();
+        while (!pending.isEmpty()) {
+            text = Mutation.applyAll(text, pending.pop().mutations());
+        }
+        return text;
+    }
+
+    /**
+     * Восстанавливает секрет указанной записи вместе со всей цепочкой предыдущих хранителей.
+     * Восстановленный секрет использует генераторы на поток и не уведомляет слушателей.
+     * @param record номер записи
+     * @return восстановленный секрет
+     * @throws IndexOutOfBoundsException если записи с таким номером нет
+     */
+    public Secret restore(int record) {
+        Deque<Entry> chain = new ArrayDeque<>();
+        Entry entry = entry(record);
+        chain.push(entry);
+        while (entry.parent() >= 0) {
+            entry = entry(entry.parent());
+            chain.push(entry);
+        }
+
+        Entry root = chain.pop();
+        Secret secret = new Secret(root.keeperName(), root.snapshotText(), RandomStrategy.threadLocal());
+        while (!chain.isEmpty()) {
+            Entry next = chain.pop();
+            secret = new Secret(next.keeperName(), secret, next.mutations());
+        }
+        return secret;
+    }
+
+    /**
+     * Находит смещение записи через разреженный индекс.
+     * @param record номер записи
+     * @return смещение записи в файле
+     * @throws IndexOutOfBoundsException если записи с таким номером нет
+     */
+    private int offsetOf(int record) {
+        checkRecord(record);
+        int offset = (int) sparseIndex[record / INDEX_INTERVAL];
+        for (int i = 0; i < record % INDEX_INTERVAL; i++) {
+            offset += data.getInt(offset);
+        }
+        return offset;
+    }
+
+    private void checkRecord(int record) {
+        if (record < 0 || record >= records) {
+            throw new IndexOutOfBoundsException("В журнале нет записи с номером " + record);
+        }
+    }
+
+    /**
+     * Читает строку в кодировке UTF-8.
+     * @param buffer буфер, установленный на начало строки
+     * @param length длина строки в байтах
+     * @return прочитанная строка
+     */
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
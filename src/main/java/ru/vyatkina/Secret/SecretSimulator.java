@@ -0,0 +1,130 @@
+package ru.vyatkina.Secret;
+
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+import ru.vyatkina.Secret.Interfaces.SecretEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Параллельная симуляция распространения секрета.
+ * Моделирует множество независимых цепочек передачи одного и того же текста и собирает
+ * статистику искажения по поколениям. Цепочки распределяются по ForkJoinPool,
+ * каждая задача накапливает статистику локально, объединение происходит при слиянии задач.
+ */
+public final class SecretSimulator {
+    private static final int CHAINS_PER_TASK = 1024;
+
+    private final String originalText;
+    private final int generations;
+    private final RandomStrategy randomStrategy;
+    private final String[] keeperNames;
+
+    /**
+     * Создает симулятор с генераторами случайных чисел на поток.
+     * @param originalText исходный текст секрета (не может быть null или пустым)
+     * @param generations количество передач в каждой цепочке (неотрицательное)
+     * @throws IllegalArgumentException если параметры невалидны
+     */
+    public SecretSimulator(String originalText, int generations) {
+        this(originalText, generations, RandomStrategy.threadLocal());
+    }
+
+    /**
+     * Создает симулятор.
+     * @param originalText исходный текст секрета (не может быть null или пустым)
+     * @param generations количество передач в каждой цепочке (неотрицательное)
+     * @param randomStrategy стратегия выбора генератора (не может быть null)
+     * @throws IllegalArgumentException если параметры невалидны
+     */
+    public SecretSimulator(String originalText, int generations, RandomStrategy randomStrategy) {
+        if (originalText == null || originalText.trim().isEmpty()) {
+            throw new IllegalArgumentException("Текст секрета не может быть пустым");
+        }
+        if (generations < 0) {
+            throw new IllegalArgumentException("Количество поколений не может быть отрицательным");
+        }
+        this.originalText = originalText;
+        this.generations = generations;
+        this.randomStrategy = Objects.requireNonNull(randomStrategy, "Стратегия случайности не может быть null");
+        this.keeperNames = new String[generations + 1];
+        for (int i = 0; i <= generations; i++) {
+            keeperNames[i] = "Хранитель " + (i + 1);
+        }
+    }
+
+    /**
+     * Запускает симуляцию в общем пуле ForkJoinPool.
+     * @param chains количество цепочек (положительное)
+     * @return отчет по поколениям
+     */
+    public SimulationReport run(long chains) {
+        return run(chains, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Запускает симуляцию в заданном пуле.
+     * @param chains количество цепочек (положительное)
+     * @param pool пул потоков (не может быть null)
+     * @return отчет по поколениям
+     * @throws IllegalArgumentException если количество цепочек не положительно
+     */
+    public SimulationReport run(long chains, ForkJoinPool pool) {
+        if (chains <= 0) {
+            throw new IllegalArgumentException("Количество цепочек должно быть положительным");
+        }
+        Objects.requireNonNull(pool, "Пул потоков не может быть null");
+        return pool.invoke(new ChainsTask(0, chains)).toReport();
+    }
+
+    /**
+     * Моделирует одну цепочку и добавляет ее в статистику.
+     * @param statistics локальная статистика задачи
+     */
+    private void simulateChain(DriftStatistics statistics) {
+        Secret secret = new Secret(keeperNames[0], originalText, randomStrategy, SecretEventListener.noOp());
+        int originalLength = originalText.length();
+        int previousLength = originalLength;
+        statistics.record(0, originalLength, 0, 0);
+
+        for (int g = 1; g <= generations; g++) {
+            secret = secret.tellSecretTo(keeperNames[g]);
+            int length = secret.getText().length();
+            statistics.record(g, length, length - previousLength, length - originalLength);
+            previousLength = length;
+        }
+        statistics.chainCompleted();
+    }
+
+    /**
+     * Задача, моделирующая диапазон цепочек с рекурсивным делением.
+     */
+    private final class ChainsTask extends RecursiveTask<DriftStatistics> {
+        private static final long serialVersionUID = 1L;
+        private final long from;
+        private final long to;
+
+        ChainsTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DriftStatistics compute() {
+            if (to - from <= CHAINS_PER_TASK) {
+                DriftStatistics statistics = new DriftStatistics(generations);
+                for (long i = from; i < to; i++) {
+                    simulateChain(statistics);
+                }
+                return statistics;
+            }
+            long middle = (from + to) >>> 1;
+            ChainsTask left = new ChainsTask(from, middle);
+            left.fork();
+            DriftStatistics right = new ChainsTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
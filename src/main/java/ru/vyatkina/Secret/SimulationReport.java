@@ -0,0 +1,52 @@
+package ru.vyatkina.Secret;
+
+import java.util.List;
+
+
+/**
+ * Итоговый отчет симуляции распространения секрета.
+ * @param chains количество смоделированных цепочек
+ * @param generations статистика по каждому поколению, начиная с исходного секрета
+ */
+public record SimulationReport(long chains, List<GenerationSummary> generations) {
+
+    /**
+     * Создает отчет из массива сводок.
+     * @param chains количество смоделированных цепочек
+     * @param generations статистика по поколениям
+     */
+    SimulationReport(long chains, GenerationSummary[] generations) {
+        this(chains, List.of(generations));
+    }
+
+    /**
+     * Статистика одного поколения.
+     * @param generation номер поколения (0 для исходного секрета)
+     * @param averageLength средняя длина текста
+     * @param averageMutations среднее количество вставок при последней передаче
+     * @param medianDistance медиана расстояния до исходного текста
+     * @param p90Distance 90-й перцентиль расстояния до исходного текста
+     * @param maxDistance максимальное расстояние до исходного текста
+     */
+    public record GenerationSummary(int generation, double averageLength, double averageMutations,
+                                    int medianDistance, int p90Distance, int maxDistance) {
+    }
+
+    /**
+     * Возвращает отчет в виде таблицы.
+     * @return текстовая таблица по поколениям
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Цепочек: %d%n", chains));
+        sb.append(String.format("%-10s %12s %10s %10s %10s %10s%n",
+                "Поколение", "Длина", "Вставки", "Медиана", "p90", "Максимум"));
+        for (GenerationSummary summary : generations) {
+            sb.append(String.format("%-10d %12.2f %10.2f %10d %10d %10d%n",
+                    summary.generation(), summary.averageLength(), summary.averageMutations(),
+                    summary.medianDistance(), summary.p90Distance(), summary.maxDistance()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package ru.vyatkina.Validation;
+
+
+/**
+ * Общие правила проверки строкового ввода: имен, фамилий, отчеств и текстов секретов.
+ * Используется интерактивным вводом в Main, классом Name и массовым импортом имен.
+ * Проверка выполняется за один проход по строке с помощью таблицы допустимых символов
+ * (латиница, кириллица с Ё, пробельные символы и дефис) и не создает объектов.
+ */
+public final class InputValidator {
+    /** Минимальная допустимая длина строки. */
+    public static final int MIN_LENGTH = 2;
+    /** Максимальная допустимая длина строки. */
+    public static final int MAX_LENGTH = 15;
+
+    private static final int TABLE_LIMIT = 'ё' + 1;
+    private static final long[] ALLOWED = new long[(TABLE_LIMIT + Long.SIZE - 1) / Long.SIZE];
+
+    static {
+        allow('a', 'z');
+        allow('A', 'Z');
+        allow('а', 'я');
+        allow('А', 'Я');
+        allow('ё', 'ё');
+        allow('Ё', 'Ё');
+        allow('-', '-');
+        allow(' ', ' ');
+        allow('\t', '\r');
+    }
+
+    /**
+     * Результат проверки строки.
+     */
+    public enum Violation {
+        /** Строка допустима. */
+        NONE(null),
+        /** Строка пустая или null. */
+        EMPTY("Ввод не может быть пустым."),
+        /** Строка содержит недопустимые символы. */
+        CHARACTERS("Введите только буквы и дефисы."),
+        /** Длина строки вне допустимых пределов. */
+        LENGTH(String.format("Должно быть от %d до %d символов.", MIN_LENGTH, MAX_LENGTH));
+
+        private final String message;
+
+        Violation(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Возвращает текст ошибки для пользователя.
+         * @return текст ошибки или null для {@link #NONE}
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private InputValidator() {
+    }
+
+    /**
+     * Проверяет строку (без обрезки пробелов) по правилам ввода.
+     * @param input проверяемая строка
+     * @return текст ошибки или null, если строка допустима
+     */
+    public static String validate(String input) {
+        return check(input).getMessage();
+    }
+
+    /**
+     * Проверяет, допустима ли строка.
+     * @param input проверяемая строка
+     * @return true если строка проходит все проверки
+     */
+    public static boolean isValid(CharSequence input) {
+        return check(input) == Violation.NONE;
+    }
+
+    /**
+     * Проверяет строку (без обрезки пробелов) по правилам ввода.
+     * @param input проверяемая строка (может быть null)
+     * @return нарушение или {@link Violation#NONE}
+     */
+    public static Violation check(CharSequence input) {
+        return input == null ? Violation.EMPTY : check(input, 0, input.length());
+    }
+
+    /**
+     * Проверяет фрагмент строки без создания подстроки.
+     * Сначала проверяется пустота, затем символы, затем длина.
+     * @param input строка (не может быть null)
+     * @param from начало фрагмента
+     * @param to конец фрагмента (не включая)
+     * @return нарушение или {@link Violation#NONE}
+     */
+    public static Violation check(CharSequence input, int from, int to) {
+        if (from >= to) {
+            return Violation.EMPTY;
+        }
+        for (int i = from; i < to; i++) {
+            if (!isAllowed(input.charAt(i))) {
+                return Violation.CHARACTERS;
+            }
+        }
+        int length = to - from;
+        return length < MIN_LENGTH || length > MAX_LENGTH ? Violation.LENGTH : Violation.NONE;
+    }
+
+    /**
+     * Проверяет, что строка пустая или состоит только из пробелов и управляющих символов
+     * (то же, что {@code value.trim().isEmpty()}, но без создания строки).
+     * @param value строка (может быть null)
+     * @return true для null, пустой строки и строки из пробелов
+     */
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет символ по таблице допустимых символов.
+     * @param c символ
+     * @return true если символ допустим
+     */
+    public static boolean isAllowed(char c) {
+        return c < TABLE_LIMIT && (ALLOWED[c >>> 6] & (1L << c)) != 0;
+    }
+
+    private static void allow(char from, char to) {
+        for (char c = from; c <= to; c++) {
+            ALLOWED[c >>> 6] |= 1L << c;
+        }
+    }
+}
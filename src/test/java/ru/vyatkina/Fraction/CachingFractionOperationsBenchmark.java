@@ -0,0 +1,108 @@
+package ru.vyatkina.Fraction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Сравнение кешированной и прямой арифметики на трассе операндов с распределением Ципфа:
+ * немногие пары встречаются очень часто, остальные - редко.
+ * Параметр skew задает показатель распределения (чем больше, тем выше доля попаданий).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachingFractionOperationsBenchmark {
+    private static final int DISTINCT_OPERANDS = 100_000;
+    private static final int TRACE_LENGTH = 1 << 20;
+
+    @Param({"0.8", "1.2"})
+    public double skew;
+
+    @Param({"4096", "65536"})
+    public int capacity;
+
+    private Fraction4[] lefts;
+    private Fraction4[] rights;
+    private CachingFractionOperations<Fraction4> cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(47);
+        Fraction4[] operands = new Fraction4[DISTINCT_OPERANDS];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = new Fraction4(random.nextInt(-1000, 1000), random.nextInt(1, 1000));
+        }
+        double[] cumulative = new double[DISTINCT_OPERANDS];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        lefts = new Fraction4[TRACE_LENGTH];
+        rights = new Fraction4[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            // пара определяется одним рангом, чтобы частыми были именно пары, а не отдельные дроби
+            int rank = sample(cumulative, random.nextDouble() * total);
+            lefts[i] = operands[rank];
+            rights[i] = operands[(rank * 31 + 7) % DISTINCT_OPERANDS];
+        }
+        cache = new CachingFractionOperations<>(capacity, Fraction4::getNumerator, Fraction4::getDenominator);
+    }
+
+    /**
+     * Позиция в трассе потока.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            int current = next;
+            next = (next + 1) & (TRACE_LENGTH - 1);
+            return current;
+        }
+    }
+
+    @Benchmark
+    public Fraction4 cached(Cursor cursor) {
+        int i = cursor.advance();
+        return cache.add(lefts[i], rights[i]);
+    }
+
+    @Benchmark
+    public Fraction4 direct(Cursor cursor) {
+        int i = cursor.advance();
+        return lefts[i].add(rights[i]);
+    }
+
+    private static int sample(double[] cumulative, double point) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] < point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
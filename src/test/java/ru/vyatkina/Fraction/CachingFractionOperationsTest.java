@@ -0,0 +1,135 @@
+package ru.vyatkina.Fraction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Тесты кеша операций над дробями: результаты при постоянном вытеснении совпадают
+ * с прямым вычислением, статистика согласована с количеством вызовов.
+ */
+class CachingFractionOperationsTest {
+    private static final int CAPACITY = 64;
+    private static final int OPERAND_RANGE = 40;
+
+    @Test
+    void resultsMatchDirectComputationUnderEviction() {
+        CachingFractionOperations<Fraction4> cache = newCache(CAPACITY);
+        SplittableRandom random = new SplittableRandom(47);
+        int calls = 200_000;
+        for (int i = 0; i < calls; i++) {
+            Fraction4 left = randomFraction(random);
+            Fraction4 right = randomFraction(random);
+            int operation = random.nextInt(4);
+            assertEquals(direct(operation, left, right).toString(), cached(cache, operation, left, right).toString(),
+                    "Операция " + operation + " над " + left + " и " + right);
+        }
+
+        CachingFractionOperations.Statistics statistics = cache.getStatistics();
+        assertEquals(calls, statistics.hits() + statistics.misses());
+        assertTrue(statistics.hits() > 0, "Повторяющиеся пары операндов должны попадать в кеш");
+        assertTrue(statistics.evictions() > 0, "Различных пар больше емкости, вытеснение обязательно");
+        assertTrue(statistics.misses() - statistics.evictions() <= CAPACITY,
+                "В кеше не может храниться больше " + CAPACITY + " результатов");
+    }
+
+    @Test
+    void repeatedOperationReturnsCachedInstance() {
+        CachingFractionOperations<Fraction4> cache = newCache(CAPACITY);
+        Fraction4 left = new Fraction4(1, 3);
+        Fraction4 right = new Fraction4(1, 6);
+
+        Fraction4 first = cache.add(left, right);
+        assertSame(first, cache.add(new Fraction4(2, 6), new Fraction4(1, 6)));
+        assertEquals(new Fraction4(1, 6), cache.subtract(left, right));
+        assertEquals(new CachingFractionOperations.Statistics(1, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    void exceptionsAreNotCached() {
+        CachingFractionOperations<Fraction4> cache = newCache(CAPACITY);
+        Fraction4 zero = new Fraction4(0, 1);
+        Fraction4 one = new Fraction4(1, 1);
+
+        assertThrows(ArithmeticException.class, () -> cache.divide(one, zero));
+        assertThrows(ArithmeticException.class, () -> cache.divide(one, zero));
+        assertEquals(0, cache.getStatistics().hits());
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentCallsMatchDirectComputation() throws Exception {
+        CachingFractionOperations<Fraction4> cache = newCache(CAPACITY);
+        int threads = 8;
+        int callsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < callsPerThread; i++) {
+                        Fraction4 left = randomFraction(random);
+                        Fraction4 right = randomFraction(random);
+                        int operation = random.nextInt(4);
+                        assertEquals(direct(operation, left, right).toString(),
+                                cached(cache, operation, left, right).toString());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CachingFractionOperations.Statistics statistics = cache.getStatistics();
+        assertEquals((long) threads * callsPerThread, statistics.hits() + statistics.misses());
+        assertTrue(statistics.evictions() > 0);
+    }
+
+    private static CachingFractionOperations<Fraction4> newCache(int capacity) {
+        return new CachingFractionOperations<>(capacity, Fraction4::getNumerator, Fraction4::getDenominator);
+    }
+
+    /**
+     * Случайная ненулевая дробь из небольшого диапазона, чтобы пары операндов повторялись.
+     */
+    private static Fraction4 randomFraction(SplittableRandom random) {
+        int numerator = random.nextInt(1, OPERAND_RANGE) * (random.nextBoolean() ? 1 : -1);
+        return new Fraction4(numerator, random.nextInt(1, OPERAND_RANGE));
+    }
+
+    private static Fraction4 direct(int operation, Fraction4 left, Fraction4 right) {
+        return switch (operation) {
+            case 0 -> left.add(right);
+            case 1 -> left.subtract(right);
+            case 2 -> left.multiply(right);
+            default -> left.divide(right);
+        };
+    }
+
+    private static Fraction4 cached(CachingFractionOperations<Fraction4> cache, int operation,
+                                    Fraction4 left, Fraction4 right) {
+        return switch (operation) {
+            case 0 -> cache.add(left, right);
+            case 1 -> cache.subtract(left, right);
+            case 2 -> cache.multiply(left, right);
+            default -> cache.divide(left, right);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package ru.vyatkina.Fraction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Время вывода миллиона цифр десятичной записи в Writer.
+ * Для 999983 период считается через разложение φ(q), для 1000000000039 поиск цикла остатков
+ * прекращается на границе точности. Запись 1/9999999999999 с периодом 13 выводится целиком,
+ * поэтому ее замер показывает только стоимость поиска цикла.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalExpansionBenchmark {
+    private static final int PRECISION = 1_000_000;
+
+    @Param({"999983", "1000000000039", "9999999999999"})
+    public long denominator;
+
+    private DecimalExpansion expansion;
+
+    @Setup
+    public void setUp() {
+        expansion = DecimalExpansion.of(1, denominator);
+    }
+
+    @Benchmark
+    public Writer formatMillionDigits() throws IOException {
+        Writer out = Writer.nullWriter();
+        expansion.formatTo(out, PRECISION);
+        return out;
+    }
+
+    @Benchmark
+    public int iterateMillionDigits() {
+        PrimitiveIterator.OfInt digits = expansion.digits();
+        int checksum = 0;
+        for (int i = 0; i < PRECISION && digits.hasNext(); i++) {
+            checksum += digits.nextInt();
+        }
+        return checksum;
+    }
+}
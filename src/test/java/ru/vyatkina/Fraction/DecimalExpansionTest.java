@@ -0,0 +1,182 @@
+package ru.vyatkina.Fraction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Тесты десятичной записи дробей: известные значения и сравнение предпериода и периода
+ * с прямым отслеживанием остатков при делении в столбик.
+ */
+class DecimalExpansionTest {
+
+    @Test
+    void knownExpansions() {
+        assertEquals("0.1(6)", DecimalExpansion.of(1, 6).toString());
+        assertEquals("-3.(142857)", DecimalExpansion.of(-22, 7).toString());
+        assertEquals("0.125", DecimalExpansion.of(1, 8).toString());
+        assertEquals("5", DecimalExpansion.of(10, 2).toString());
+        assertEquals("-0.010(714285)", DecimalExpansion.of(3, -280).toString());
+        assertEquals("0.(3)", DecimalExpansion.of(new Fraction4(1, 3)).toString());
+    }
+
+    @Test
+    void periodsMatchRemainderTracking() {
+        for (int denominator = 1; denominator <= 2000; denominator++) {
+            for (int numerator = -3; numerator <= 3 * denominator; numerator += Math.max(1, denominator / 7)) {
+                DecimalExpansion expansion = DecimalExpansion.of(numerator, denominator);
+                String expected = bruteForce(numerator, denominator);
+                String message = numerator + "/" + denominator;
+                assertEquals(expected, expansion.toString(Integer.MAX_VALUE), message);
+
+                long[] lengths = bruteForceLengths(Math.abs(numerator) % denominator, denominator);
+                assertEquals(lengths[0], expansion.getPreperiodLength(), message);
+                assertEquals(lengths[1], expansion.getPeriodLength(), message);
+                assertEquals(lengths[1] == 0, expansion.isTerminating(), message);
+            }
+        }
+    }
+
+    @Test
+    void largeDenominatorsMatchRemainderTracking() {
+        SplittableRandom random = new SplittableRandom(50);
+        for (int i = 0; i < 200; i++) {
+            long denominator = random.nextLong(2, 200_000);
+            long numerator = random.nextLong(1, denominator);
+            long[] lengths = bruteForceLengths(numerator, denominator);
+            DecimalExpansion expansion = DecimalExpansion.of(numerator, denominator);
+            assertEquals(lengths[0], expansion.getPreperiodLength(), numerator + "/" + denominator);
+            assertEquals(lengths[1], expansion.getPeriodLength(), numerator + "/" + denominator);
+        }
+    }
+
+    @Test
+    void longExpansionIsTruncated() {
+        DecimalExpansion expansion = DecimalExpansion.of(1, 97);
+        assertEquals(96, expansion.getPeriodLength());
+        String truncated = expansion.toString(10);
+        assertEquals("0.0103092783...", truncated);
+        assertEquals("0...", expansion.toString(0));
+        assertTrue(expansion.toString(95).endsWith("..."));
+        assertTrue(expansion.toString(96).endsWith(")"));
+        assertEquals("-0.1(6)", DecimalExpansion.of(-1, 6).toString(2));
+        assertEquals("-0.1...", DecimalExpansion.of(-1, 6).toString(1));
+    }
+
+    @Test
+    void digitsIteratorFollowsExpansion() {
+        PrimitiveIterator.OfInt digits = DecimalExpansion.of(1, 7).digits();
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            result.append(digits.nextInt());
+        }
+        assertEquals("142857142857", result.toString());
+
+        PrimitiveIterator.OfInt terminating = DecimalExpansion.of(3, 8).digits();
+        assertEquals(3, terminating.nextInt());
+        assertEquals(7, terminating.nextInt());
+        assertEquals(5, terminating.nextInt());
+        assertFalse(terminating.hasNext());
+    }
+
+    @Test
+    @Timeout(30)
+    void cycleSearchForDenominatorsBeyondFactorization() {
+        long denominator = 9_999_999_999_999L;
+        DecimalExpansion expansion = DecimalExpansion.of(1, denominator);
+        assertEquals(13, expansion.getPeriodLength());
+        assertEquals("0.(0000000000001)", expansion.toString());
+        assertEquals("0.(0000000000007)", DecimalExpansion.of(7, denominator).toString());
+        assertEquals("0.0(0000000000001)", DecimalExpansion.of(1, denominator * 10).toString());
+
+        // период 10^12+39 заведомо длиннее точности: поиск цикла прекращается, запись обрезается
+        String truncated = DecimalExpansion.of(1, 1_000_000_000_039L).toString(20);
+        assertEquals("0.00000000000099999999...", truncated);
+    }
+
+    @Test
+    @Timeout(30)
+    void cycleSearchFindsPeriodThatExactlyFitsPrecision() {
+        // период 17 = 2^4 + 1: Бренту нужно почти 3λ шагов, и граница поиска не должна их отсекать
+        long denominator = 99_999_999_999_999_999L;
+        assertEquals("0.(00000000000000001)", DecimalExpansion.of(1, denominator).toString(17));
+        assertEquals("0.0000000000000000...", DecimalExpansion.of(1, denominator).toString(16));
+        assertEquals("0.0(00000000000000005)", DecimalExpansion.of(1, 2 * denominator).toString(18));
+        assertEquals("0.00000000000000000...", DecimalExpansion.of(1, 2 * denominator).toString(17));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DecimalExpansion.of(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> DecimalExpansion.of(Long.MIN_VALUE, 3));
+        assertThrows(IllegalArgumentException.class, () -> DecimalExpansion.of(1, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> DecimalExpansion.of(1, 3).toString(-1));
+    }
+
+    /**
+     * Деление в столбик с запоминанием позиции каждого остатка: повтор остатка отмечает начало периода.
+     */
+    private static String bruteForce(long numerator, long denominator) {
+        StringBuilder result = new StringBuilder();
+        if (numerator < 0) {
+            result.append('-');
+        }
+        long absolute = Math.abs(numerator);
+        result.append(absolute / denominator);
+        long remainder = absolute % denominator;
+        if (remainder == 0) {
+            return result.toString();
+        }
+        result.append('.');
+        Map<Long, Integer> positions = new HashMap<>();
+        while (remainder != 0 && !positions.containsKey(remainder)) {
+            positions.put(remainder, result.length());
+            remainder *= 10;
+            result.append(remainder / denominator);
+            remainder %= denominator;
+        }
+        if (remainder != 0) {
+            result.insert((int) positions.get(remainder), '(').append(')');
+        }
+        return result.toString();
+    }
+
+    /**
+     * Длины предпериода и периода по первому повтору остатка.
+     */
+    private static long[] bruteForceLengths(long remainder, long denominator) {
+        long gcd = gcd(remainder, denominator);
+        remainder /= gcd;
+        denominator /= gcd;
+        Map<Long, Integer> positions = new HashMap<>();
+        int position = 0;
+        while (remainder != 0 && !positions.containsKey(remainder)) {
+            positions.put(remainder, position++);
+            remainder = remainder * 10 % denominator;
+        }
+        if (remainder == 0) {
+            return new long[]{position, 0};
+        }
+        int start = positions.get(remainder);
+        return new long[]{start, position - start};
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long temp = b;
+            b = a % b;
+            a = temp;
+        }
+        return a == 0 ? 1 : a;
+    }
+}
@@ -0,0 +1,144 @@
+package ru.vyatkina.Fraction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Тесты генератора последовательностей Фарея: все способы обхода сравниваются с перебором.
+ */
+class FareySequenceTest {
+    private static final int MAX_ORDER = 60;
+
+    @Test
+    void iteratorMatchesBruteForce() {
+        for (int order = 1; order <= MAX_ORDER; order++) {
+            long[] actual = collect(FareySequence.of(order).iterator());
+            assertEquals(render(bruteForce(order, 0, 1, 1, 1, true)), render(actual), "Порядок " + order);
+        }
+    }
+
+    @Test
+    void fillMatchesBruteForce() {
+        for (int order = 1; order <= MAX_ORDER; order++) {
+            long[] expected = bruteForce(order, 0, 1, 1, 1, true);
+            int[] numerators = new int[expected.length + 10];
+            int[] denominators = new int[expected.length + 10];
+            FareySequence.Cursor cursor = FareySequence.of(order).iterator();
+            int total = 0;
+            int read;
+            // нечетный размер порции, чтобы границы порций попадали в разные места
+            while ((read = cursor.fill(numerators, denominators, total, 7)) > 0) {
+                total += read;
+            }
+            assertEquals(expected.length, total, "Порядок " + order);
+            for (int i = 0; i < total; i++) {
+                assertEquals(expected[i], pack(numerators[i], denominators[i]), "Порядок " + order + ", член " + i);
+            }
+            assertFalse(cursor.hasNext());
+        }
+    }
+
+    @Test
+    void parallelStreamMatchesBruteForce() {
+        for (int order = 1; order <= MAX_ORDER; order++) {
+            long[] actual = FareySequence.of(order).stream(true).toArray();
+            assertEquals(render(bruteForce(order, 0, 1, 1, 1, true)), render(actual), "Порядок " + order);
+            assertEquals(actual.length, FareySequence.of(order).stream(true).count());
+        }
+    }
+
+    @Test
+    void sternBrocotSubtreeMatchesBruteForce() {
+        int[][] bounds = {{0, 1, 1, 1}, {1, 3, 1, 2}, {2, 5, 1, 2}, {-1, 1, 0, 1}, {1, 1, 2, 1}, {-3, 2, -1, 1}};
+        for (int[] bound : bounds) {
+            for (int order = Math.max(bound[1], bound[3]); order <= MAX_ORDER; order++) {
+                FareySequence subtree = FareySequence.sternBrocot(order, bound[0], bound[1], bound[2], bound[3]);
+                String expected = render(bruteForce(order, bound[0], bound[1], bound[2], bound[3], false));
+                String message = "Поддерево " + Arrays.toString(bound) + ", порядок " + order;
+                assertEquals(expected, render(collect(subtree.iterator())), message);
+                assertEquals(expected, render(subtree.stream(true).toArray()), message);
+            }
+        }
+    }
+
+    @Test
+    void largeOrderStartsWithSmallestFractions() {
+        int order = Integer.MAX_VALUE / 2;
+        FareySequence.Cursor cursor = FareySequence.of(order).iterator();
+        assertEquals(pack(0, 1), cursor.nextLong());
+        assertEquals(pack(1, order), cursor.nextLong());
+        assertEquals(pack(1, order - 1), cursor.nextLong());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FareySequence.of(0));
+        assertThrows(IllegalArgumentException.class, () -> FareySequence.sternBrocot(10, 1, 3, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> FareySequence.sternBrocot(3, 1, 4, 1, 3));
+        // соседние границы, но числители членов вышли бы за пределы int
+        assertThrows(IllegalArgumentException.class,
+                () -> FareySequence.sternBrocot(1000, 3_000_000, 1, 3_000_001, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> FareySequence.sternBrocot(1000, -3_000_001, 1, -3_000_000, 1));
+    }
+
+    /**
+     * Перебирает все несократимые дроби p/q (q от 1 до N) на отрезке между a/b и c/d.
+     */
+    private static long[] bruteForce(int order, int a, int b, int c, int d, boolean includeBounds) {
+        List<long[]> fractions = new ArrayList<>();
+        for (int q = 1; q <= order; q++) {
+            int from = Math.floorDiv(a * q, b);
+            int to = Math.floorDiv(c * q, d) + 1;
+            for (int p = from; p <= to; p++) {
+                long left = (long) p * b - (long) a * q;
+                long right = (long) c * q - (long) p * d;
+                boolean inside = includeBounds ? left >= 0 && right >= 0 : left > 0 && right > 0;
+                if (inside && gcd(Math.abs(p), q) == 1) {
+                    fractions.add(new long[]{p, q});
+                }
+            }
+        }
+        fractions.sort((x, y) -> Long.compare(x[0] * y[1], y[0] * x[1]));
+        long[] result = new long[fractions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pack(fractions.get(i)[0], fractions.get(i)[1]);
+        }
+        return result;
+    }
+
+    private static long[] collect(FareySequence.Cursor cursor) {
+        List<Long> values = new ArrayList<>();
+        cursor.forEachRemaining((long value) -> values.add(value));
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String render(long[] packed) {
+        StringBuilder result = new StringBuilder();
+        for (long value : packed) {
+            result.append(FareySequence.numerator(value)).append('/').append(FareySequence.denominator(value)).append(' ');
+        }
+        return result.toString();
+    }
+
+    private static long pack(long numerator, long denominator) {
+        return (numerator << 32) | denominator;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int temp = b;
+            b = a % b;
+            a = temp;
+        }
+        return a;
+    }
+}
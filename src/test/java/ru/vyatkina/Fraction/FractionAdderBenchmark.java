@@ -0,0 +1,80 @@
+package ru.vyatkina.Fraction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Пропускная способность общего точного сумматора под конкуренцией потоков:
+ * {@link FractionAdder} против синхронизированного сложения Fraction4.
+ * Масштабирование видно при запуске с разным количеством потоков:
+ * org.openjdk.jmh.Main FractionAdderBenchmark -t 1, затем -t 2, -t 4, -t 8.
+ * Каждый поток по очереди добавляет и вычитает одно и то же слагаемое,
+ * поэтому сумма остается маленькой и Fraction4 не переполняется.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionAdderBenchmark {
+    private static final int[] DENOMINATORS = {2, 3, 4, 5, 6, 7, 8, 9, 10, 12};
+
+    private final Object lock = new Object();
+    private FractionAdder adder;
+    private Fraction4 total;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        adder = new FractionAdder();
+        total = new Fraction4(0, 1);
+    }
+
+    /**
+     * Очередное слагаемое потока.
+     */
+    @State(Scope.Thread)
+    public static class Terms {
+        int step;
+
+        int numerator() {
+            return (step & 1) == 0 ? 1 : -1;
+        }
+
+        int denominator() {
+            return DENOMINATORS[(step >>> 1) % DENOMINATORS.length];
+        }
+
+        void advance() {
+            step = step + 1 == 2 * DENOMINATORS.length ? 0 : step + 1;
+        }
+    }
+
+    @Benchmark
+    public void stripedAdder(Terms terms) {
+        adder.add(terms.numerator(), terms.denominator());
+        terms.advance();
+    }
+
+    @Benchmark
+    public Fraction4 synchronizedFraction(Terms terms) {
+        Fraction4 term = new Fraction4(terms.numerator(), terms.denominator());
+        terms.advance();
+        synchronized (lock) {
+            total = total.add(term);
+            return total;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.vyatkina.Fraction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Тесты точности сумматора дробей: параллельные добавления сравниваются с суммой в BigInteger,
+ * в том числе когда частичные суммы выходят за пределы long.
+ */
+class FractionAdderTest {
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 20_000;
+    private static final int[] PRIMES = {999_983, 1_000_003, 2_147_483_647, 65_521, 7, 1};
+
+    @Test
+    @Timeout(60)
+    void concurrentSumIsExact() throws Exception {
+        FractionAdder adder = new FractionAdder();
+        List<Future<BigInteger[]>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    BigInteger[] sum = {BigInteger.ZERO, BigInteger.ONE};
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        // большие взаимно простые знаменатели быстро переполняют long
+                        int numerator = random.nextInt();
+                        int denominator = PRIMES[random.nextInt(PRIMES.length)] * (random.nextBoolean() ? 1 : -1);
+                        adder.add(numerator, denominator);
+                        sum = plus(sum, numerator, denominator);
+                    }
+                    return sum;
+                }));
+            }
+            start.countDown();
+            BigInteger[] expected = {BigInteger.ZERO, BigInteger.ONE};
+            for (Future<BigInteger[]> future : futures) {
+                BigInteger[] partial = future.get();
+                expected = plus(expected, partial[0], partial[1]);
+            }
+            assertEquals(expected[0] + "/" + expected[1], adder.toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void sumThenResetLosesNoAdditions() throws Exception {
+        FractionAdder adder = new FractionAdder();
+        int[] denominators = {1, 2, 3, 4, 6, 12};
+        AtomicBoolean producing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            List<Future<Long>> producers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                producers.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    long twelfths = 0;
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        int denominator = denominators[random.nextInt(denominators.length)];
+                        adder.add(1, denominator);
+                        twelfths += 12 / denominator;
+                    }
+                    return twelfths;
+                }));
+            }
+            Future<BigInteger[]> collector = executor.submit(() -> {
+                BigInteger[] collected = {BigInteger.ZERO, BigInteger.ONE};
+                while (producing.get()) {
+                    Fraction4 part = adder.sumThenReset();
+                    collected = plus(collected, part.getNumerator(), part.getDenominator());
+                }
+                return collected;
+            });
+
+            long expectedTwelfths = 0;
+            for (Future<Long> producer : producers) {
+                expectedTwelfths += producer.get();
+            }
+            producing.set(false);
+            BigInteger[] collected = collector.get();
+            Fraction4 rest = adder.sumThenReset();
+            collected = plus(collected, rest.getNumerator(), rest.getDenominator());
+
+            BigInteger[] expected = reduce(BigInteger.valueOf(expectedTwelfths), BigInteger.valueOf(12));
+            assertEquals(expected[0] + "/" + expected[1], collected[0] + "/" + collected[1]);
+            assertEquals("0/1", adder.toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void minValueWithNegativeDenominatorKeepsSign() {
+        FractionAdder adder = new FractionAdder();
+        adder.add(Integer.MIN_VALUE, -1);
+        assertEquals("2147483648/1", adder.toString());
+        assertThrows(ArithmeticException.class, adder::sum);
+
+        adder.add(-1, 1);
+        assertEquals(new Fraction4(Integer.MAX_VALUE, 1), adder.sum());
+    }
+
+    @Test
+    void sumThenResetKeepsTotalThatDoesNotFitInt() {
+        FractionAdder adder = new FractionAdder();
+        adder.add(1, 999_983);
+        adder.add(1, 1_000_003);
+
+        assertThrows(ArithmeticException.class, adder::sumThenReset);
+        assertEquals("1999986/999985999949", adder.toString());
+
+        adder.add(-1, 1_000_003);
+        assertEquals(new Fraction4(1, 999_983), adder.sumThenReset());
+        assertEquals("0/1", adder.toString());
+    }
+
+    @Test
+    void sumIsReducedAndDenominatorPositive() {
+        FractionAdder adder = new FractionAdder();
+        adder.add(1, -6);
+        adder.add(new Fraction4(1, 3));
+        adder.add(2, 4);
+        assertEquals("2/3", adder.sum().toString());
+        assertEquals(2.0 / 3, adder.doubleValue(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> adder.add(1, 0));
+    }
+
+    private static BigInteger[] plus(BigInteger[] sum, long numerator, long denominator) {
+        return plus(sum, BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    private static BigInteger[] plus(BigInteger[] sum, BigInteger numerator, BigInteger denominator) {
+        return reduce(sum[0].multiply(denominator).add(numerator.multiply(sum[1])), sum[1].multiply(denominator));
+    }
+
+    private static BigInteger[] reduce(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        return new BigInteger[]{numerator.divide(gcd), denominator.divide(gcd)};
+    }
+}
@@ -0,0 +1,190 @@
+package ru.vyatkina.Pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import ru.vyatkina.Fraction.Fraction5;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Тесты конвейера: разбор и нормализация дробей, завершение, распространение ошибок
+ * и ограничение памяти при медленном потребителе.
+ */
+class FractionPipelineTest {
+    private static final int BATCH_SIZE = 16;
+    private static final int BUFFER_CAPACITY = 2;
+    private static final int PARALLELISM = 3;
+
+    @Test
+    @Timeout(30)
+    void allItemsReachConsumerAndFutureCompletes() throws Exception {
+        int count = 10_000;
+        PipelineSource<Long> source = new PipelineSource<>(BATCH_SIZE, BUFFER_CAPACITY);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong windows = new AtomicLong();
+        CompletableFuture<Void> done = FractionPipeline.from(source, BUFFER_CAPACITY)
+                .map(x -> x * 2, PARALLELISM)
+                .filter(x -> x % 4 == 0, PARALLELISM)
+                .window(7, Long::sum)
+                .forEach(x -> {
+                    sum.addAndGet(x);
+                    windows.incrementAndGet();
+                });
+        for (long i = 0; i < count; i++) {
+            source.add(i);
+        }
+        source.close();
+
+        done.get(20, TimeUnit.SECONDS);
+        long expected = 0;
+        for (long i = 0; i < count; i += 2) {
+            expected += 2 * i;
+        }
+        assertEquals(expected, sum.get());
+        assertEquals((count / 2 + 6) / 7, windows.get());
+    }
+
+    @Test
+    @Timeout(30)
+    void parsesAndNormalizesFractionsAndRejectsInvalidStrings() throws Exception {
+        List<String> valid = List.of("2/4", "-3/-9", "6/-8", "0/-5", "7/1", "2/-2147483648");
+        List<String> expected = List.of("1/2", "1/3", "-3/4", "0/1", "7/1", "-1/1073741824");
+        List<String> invalid = List.of("abc", "1/0", "1/2/3", "", "1/x", "99999999999/1");
+        int repeats = 200;
+
+        PipelineSource<String> source = new PipelineSource<>(BATCH_SIZE, BUFFER_CAPACITY);
+        Set<String> rejected = ConcurrentHashMap.newKeySet();
+        AtomicLong rejectedCount = new AtomicLong();
+        ConcurrentHashMap<String, Long> normalized = new ConcurrentHashMap<>();
+        CompletableFuture<Void> done = FractionPipeline.from(source, BUFFER_CAPACITY)
+                .parse(FractionPipelineTest::parseFraction5, PARALLELISM, line -> {
+                    rejected.add(line);
+                    rejectedCount.incrementAndGet();
+                })
+                .normalize(Fraction5::normalized, PARALLELISM)
+                .forEach(f -> normalized.merge(f.toString(), 1L, Long::sum));
+        for (int i = 0; i < repeats; i++) {
+            valid.forEach(source::add);
+            invalid.forEach(source::add);
+        }
+        source.close();
+        done.get(20, TimeUnit.SECONDS);
+
+        assertEquals(Set.copyOf(invalid), rejected);
+        assertEquals((long) repeats * invalid.size(), rejectedCount.get());
+        assertEquals(Set.copyOf(expected), normalized.keySet());
+        for (String fraction : expected) {
+            assertEquals(Long.valueOf(repeats), normalized.get(fraction), fraction);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void runtimeExceptionInStageFailsFuture() {
+        IllegalStateException error = new IllegalStateException("сбой стадии");
+        CompletableFuture<Void> done = runFailing(x -> {
+            if (x == 500) {
+                throw error;
+            }
+            return x;
+        }, x -> { });
+        assertSame(error, causeOf(done));
+    }
+
+    @Test
+    @Timeout(30)
+    void errorInStageFailsFuture() {
+        AssertionError error = new AssertionError("сбой стадии");
+        CompletableFuture<Void> done = runFailing(x -> {
+            if (x == 500) {
+                throw error;
+            }
+            return x;
+        }, x -> { });
+        assertSame(error, causeOf(done));
+    }
+
+    @Test
+    @Timeout(30)
+    void errorInConsumerFailsFuture() {
+        AssertionError error = new AssertionError("сбой потребителя");
+        CompletableFuture<Void> done = runFailing(x -> x, x -> {
+            if (x == 500) {
+                throw error;
+            }
+        });
+        assertSame(error, causeOf(done));
+    }
+
+    @Test
+    @Timeout(60)
+    void slowConsumerBoundsItemsInFlight() throws Exception {
+        int count = 5_000;
+        PipelineSource<Long> source = new PipelineSource<>(BATCH_SIZE, BUFFER_CAPACITY);
+        AtomicLong produced = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong maxInFlight = new AtomicLong();
+        CompletableFuture<Void> done = FractionPipeline.from(source, BUFFER_CAPACITY)
+                .map(x -> x + 1, PARALLELISM)
+                .forEach(x -> {
+                    long inFlight = produced.get() - consumed.incrementAndGet();
+                    maxInFlight.accumulateAndGet(inFlight, Math::max);
+                    LockSupport.parkNanos(100_000);
+                });
+        for (long i = 0; i < count; i++) {
+            source.add(i);
+            produced.incrementAndGet();
+        }
+        source.close();
+        done.get(50, TimeUnit.SECONDS);
+
+        // буферы источника, стадии и потребителя плюс пачки в обработке и по одной собираемой пачке
+        long bound = (long) BATCH_SIZE * (3 * BUFFER_CAPACITY + PARALLELISM + 2);
+        assertEquals(count, consumed.get());
+        assertTrue(maxInFlight.get() <= bound,
+                "В конвейере одновременно " + maxInFlight.get() + " элементов, ожидалось не больше " + bound);
+    }
+
+    /**
+     * Разбирает "a/b" в Fraction5 без нормализации (Fraction4.parseFraction сокращает дробь сразу).
+     */
+    private static Fraction5 parseFraction5(String line) {
+        String[] parts = line.split("/");
+        if (parts.length != 2) {
+            throw new NumberFormatException("Неверный формат дроби. Ожидается a/b");
+        }
+        return new Fraction5(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    private static CompletableFuture<Void> runFailing(Function<Long, Long> mapper, Consumer<Long> action) {
+        PipelineSource<Long> source = new PipelineSource<>(BATCH_SIZE, BUFFER_CAPACITY);
+        CompletableFuture<Void> done = FractionPipeline.from(source, BUFFER_CAPACITY)
+                .map(mapper, PARALLELISM)
+                .forEach(action);
+        for (long i = 0; i < 2_000; i++) {
+            source.add(i);
+        }
+        source.close();
+        return done;
+    }
+
+    private static Throwable causeOf(CompletableFuture<Void> done) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> done.get(20, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+}
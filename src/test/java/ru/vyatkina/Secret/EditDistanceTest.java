@@ -0,0 +1,130 @@
+package ru.vyatkina.Secret;
+
+import org.junit.jupiter.api.Test;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Сравнение битово-параллельного расстояния Левенштейна с классическим динамическим программированием.
+ */
+class EditDistanceTest {
+    private static final String ALPHABET = "абвгд";
+
+    @Test
+    void knownValues() {
+        assertEquals(0, EditDistance.between("", ""));
+        assertEquals(3, EditDistance.between("", "абв"));
+        assertEquals(3, EditDistance.between("kitten", "sitting"));
+        assertEquals(2, EditDistance.between("flaw", "lawn"));
+        assertEquals(1, EditDistance.between("секрет", "секрер"));
+    }
+
+    @Test
+    void matchesDynamicProgrammingOnRandomStrings() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 2000; i++) {
+            // длины до 200 символов проверяют и несколько 64-битных блоков
+            String first = randomString(random, random.nextInt(200));
+            String second = randomString(random, random.nextInt(200));
+            assertEquals(reference(first, second), EditDistance.between(first, second), first + " / " + second);
+        }
+    }
+
+    @Test
+    void matchesDynamicProgrammingAtBlockBoundaries() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int length : new int[]{63, 64, 65, 127, 128, 129}) {
+            for (int i = 0; i < 50; i++) {
+                String first = randomString(random, length);
+                String second = mutate(random, first, random.nextInt(10));
+                assertEquals(reference(first, second), EditDistance.between(first, second));
+                assertEquals(reference(second, first), EditDistance.between(second, first));
+            }
+        }
+    }
+
+    @Test
+    void insertOnlyFastPathGivesLengthDifference() {
+        assertTrue(EditDistance.isSubsequence("скт", "секрет"));
+        assertFalse(EditDistance.isSubsequence("тс", "секрет"));
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 200; i++) {
+            String original = randomString(random, random.nextInt(100));
+            StringBuilder grown = new StringBuilder(original);
+            int inserts = random.nextInt(20);
+            for (int k = 0; k < inserts; k++) {
+                grown.insert(random.nextInt(grown.length() + 1), ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertEquals(reference(original, grown.toString()), EditDistance.between(original, grown));
+        }
+    }
+
+    @Test
+    void secretDistancesAlongChainMatchReference() {
+        Secret secret = new Secret("Алиса", "Исходный текст секрета для проверки расстояний",
+                RandomStrategy.fixed(new SplittableRandom(4)));
+        Secret sibling = secret.tellSecretTo("Боб");
+        for (int i = 0; i < 30; i++) {
+            secret = secret.tellSecretTo("Хранитель " + i);
+        }
+        int[] distances = secret.getDistancesToPreviousKeepers();
+        int[] expected = new int[distances.length];
+        for (int g = 0; g < expected.length; g++) {
+            expected[g] = reference(secret.getText(), secret.getAncestor(g).getText());
+        }
+        assertArrayEquals(expected, distances);
+        assertEquals(reference(secret.getText(), sibling.getText()), secret.distanceTo(sibling));
+    }
+
+    private static String randomString(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String mutate(SplittableRandom random, String value, int edits) {
+        StringBuilder sb = new StringBuilder(value);
+        for (int i = 0; i < edits; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || sb.isEmpty()) {
+                sb.insert(random.nextInt(sb.length() + 1), ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            } else if (operation == 1) {
+                sb.deleteCharAt(random.nextInt(sb.length()));
+            } else {
+                sb.setCharAt(random.nextInt(sb.length()), ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Расстояние Левенштейна по определению: таблица (m+1) x (n+1), хранятся две строки.
+     */
+    private static int reference(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] temp = previous;
+            previous = current;
+            current = temp;
+        }
+        return previous[second.length()];
+    }
+}
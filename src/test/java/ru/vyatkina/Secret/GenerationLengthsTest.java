@@ -0,0 +1,41 @@
+package ru.vyatkina.Secret;
+
+import org.junit.jupiter.api.Test;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Тесты длин текста по поколениям: при ветвлении каждая ветка видит длины своих предков.
+ */
+class GenerationLengthsTest {
+
+    @Test
+    void differencesMatchAncestorTextsAcrossBranches() {
+        SplittableRandom random = new SplittableRandom(29);
+        Secret root = new Secret("Хранитель 0", "Исходный текст секрета для проверки длин",
+                RandomStrategy.fixed(new SplittableRandom(29)));
+        List<Secret> secrets = new ArrayList<>(List.of(root));
+        for (int i = 1; i < 2000; i++) {
+            // передача от случайного хранителя: и продолжение цепочки, и ветвление из середины
+            Secret parent = secrets.get(random.nextInt(secrets.size()));
+            secrets.add(parent.tellSecretTo("Хранитель " + i));
+        }
+
+        for (Secret secret : secrets) {
+            int generation = secret.getGeneration();
+            int[] expected = new int[generation + 1];
+            for (int g = 0; g <= generation; g++) {
+                expected[g] = Math.abs(secret.getText().length() - secret.getAncestor(g).getText().length());
+                assertEquals(expected[g], secret.getTextDifferenceWith(g - generation));
+            }
+            assertArrayEquals(expected, secret.getTextDifferencesWith(-generation, 0));
+        }
+    }
+}
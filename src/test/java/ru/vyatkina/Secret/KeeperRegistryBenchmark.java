@@ -0,0 +1,71 @@
+package ru.vyatkina.Secret;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Пропускная способность передач одного общего секрета из многих потоков:
+ * каждая передача атомарно закрепляет имя в реестре дерева распространения.
+ * Запуск для большого количества потоков: org.openjdk.jmh.Main KeeperRegistryBenchmark -t 32
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeeperRegistryBenchmark {
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private Secret root;
+
+    /**
+     * Новое дерево на каждую итерацию, чтобы его размер не влиял на результат.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        root = new Secret("Корень", "Секрет, который передают из многих потоков одновременно");
+    }
+
+    /**
+     * Уникальный префикс имен потока.
+     */
+    @State(Scope.Thread)
+    public static class Names {
+        String prefix;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(KeeperRegistryBenchmark benchmark) {
+            prefix = "Хранитель " + benchmark.threadIds.incrementAndGet() + "-";
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public Secret tellFromRoot(Names names) {
+        return root.tellSecretTo(names.prefix + names.next++);
+    }
+
+    @Benchmark
+    public boolean rejectKnownName() {
+        try {
+            root.tellSecretTo("Корень");
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.vyatkina.Secret;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Тесты реестра хранителей в дереве распространения, в том числе при большом количестве потоков.
+ */
+class PropagationTreeTest {
+    private static final int THREADS = 32;
+    private static final int NAMES = 2000;
+
+    @Test
+    void secondTellToSameNameFailsInAnyBranch() {
+        Secret root = new Secret("Алиса", "Секрет для проверки реестра");
+        Secret bob = root.tellSecretTo("Боб");
+        Secret carol = root.tellSecretTo("Кэрол");
+        bob.tellSecretTo("Дэйв");
+
+        assertThrows(IllegalArgumentException.class, () -> carol.tellSecretTo("Дэйв"));
+        assertThrows(IllegalArgumentException.class, () -> carol.tellSecretTo("Алиса"));
+        assertEquals(4, root.getTree().size());
+        assertEquals("Боб", root.getTree().whoToldTo("Дэйв").orElseThrow());
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentTellsClaimEachNameExactlyOnce() throws Exception {
+        Secret root = new Secret("Корень", "Секрет, который одновременно передают из многих потоков");
+        ConcurrentHashMap<String, Secret> winners = new ConcurrentHashMap<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * 7;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    // каждый поток передает секрет дальше по своей ветке, поэтому конфликты идут между ветками
+                    Secret branch = root;
+                    for (int i = 0; i < NAMES; i++) {
+                        String name = "Хранитель " + (i + offset) % NAMES;
+                        try {
+                            Secret told = branch.tellSecretTo(name);
+                            if (winners.putIfAbsent(name, told) != null) {
+                                throw new AssertionError("Имя " + name + " закреплено дважды");
+                            }
+                            branch = told;
+                        } catch (IllegalArgumentException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        PropagationTree tree = root.getTree();
+        assertEquals(NAMES, winners.size());
+        assertEquals(NAMES + 1, tree.size());
+        assertEquals((long) THREADS * NAMES - NAMES, rejected.get());
+        assertEquals(NAMES, tree.getDescendants(root).size());
+        winners.forEach((name, secret) -> assertTrue(tree.findKeeper(name).orElseThrow() == secret));
+    }
+}
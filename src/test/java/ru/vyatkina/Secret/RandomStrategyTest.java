@@ -0,0 +1,59 @@
+package ru.vyatkina.Secret;
+
+import org.junit.jupiter.api.Test;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Тесты стратегий выбора генератора случайных чисел.
+ */
+class RandomStrategyTest {
+
+    @Test
+    void splittableWithSameSeedIsReproducible() {
+        RandomGenerator first = RandomStrategy.splittable(42).current();
+        RandomGenerator second = RandomStrategy.splittable(42).current();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+
+    @Test
+    void splittableGivesEachThreadItsOwnGenerator() throws InterruptedException {
+        RandomStrategy strategy = RandomStrategy.splittable(7);
+        RandomGenerator mine = strategy.current();
+        AtomicReference<RandomGenerator> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(strategy.current()));
+        thread.start();
+        thread.join();
+
+        assertSame(mine, strategy.current());
+        assertNotNull(other.get());
+        assertTrue(mine != other.get(), "Потоки не должны делить генератор");
+    }
+
+    @Test
+    void fixedGeneratorMakesSecretChainsReproducible() {
+        Secret first = chain(RandomStrategy.fixed(new SplittableRandom(3)));
+        Secret second = chain(RandomStrategy.fixed(new SplittableRandom(3)));
+        assertEquals(first.getText(), second.getText());
+        assertEquals(first.getKeeperOrder(), second.getKeeperOrder());
+    }
+
+    private static Secret chain(RandomStrategy strategy) {
+        Secret secret = new Secret("Алиса", "Секрет, который передают по цепочке", strategy);
+        for (int i = 0; i < 50; i++) {
+            secret = secret.tellSecretTo("Хранитель " + i);
+        }
+        return secret;
+    }
+}
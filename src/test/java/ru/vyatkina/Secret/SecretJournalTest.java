@@ -0,0 +1,77 @@
+package ru.vyatkina.Secret;
+
+import org.junit.jupiter.api.Test;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Тесты журнала передач: восстановление ветвящегося дерева и переход к поколению цепочки.
+ */
+class SecretJournalTest {
+
+    @Test
+    void ancestorRecordFindsGenerationInBranchingTree() throws Exception {
+        Path file = Files.createTempFile("secret-journal", ".bin");
+        try {
+            List<Secret> secrets = new ArrayList<>();
+            try (SecretJournal journal = new SecretJournal(file)) {
+                SplittableRandom random = new SplittableRandom(30);
+                secrets.add(new Secret("Хранитель 0", "Текст секрета для журнала",
+                        RandomStrategy.fixed(new SplittableRandom(30)), journal));
+                for (int i = 1; i < 500; i++) {
+                    // чаще продолжаем последнюю цепочку, иногда ветвимся из середины
+                    Secret parent = random.nextInt(4) == 0
+                            ? secrets.get(random.nextInt(secrets.size())) : secrets.get(secrets.size() - 1);
+                    secrets.add(parent.tellSecretTo("Хранитель " + i));
+                }
+            }
+
+            SecretJournalReader reader = new SecretJournalReader(file);
+            assertEquals(secrets.size(), reader.size());
+            for (int record = 0; record < secrets.size(); record++) {
+                Secret secret = secrets.get(record);
+                for (int generation = 0; generation <= secret.getGeneration(); generation++) {
+                    int ancestor = reader.ancestorRecord(record, generation);
+                    Secret expected = secret.getAncestor(generation);
+                    assertEquals(expected.getCurrentKeeperName(), reader.entry(ancestor).keeperName());
+                    assertEquals(generation, reader.entry(ancestor).generation());
+                }
+                assertEquals(secret.getText(), reader.textAt(record));
+            }
+            Secret last = reader.restore(secrets.size() - 1);
+            assertEquals(secrets.get(secrets.size() - 1).getKeepersHistory(), last.getKeepersHistory());
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.ancestorRecord(0, 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void keeperNameLongerThanRecordFieldIsRejected() throws Exception {
+        Path file = Files.createTempFile("secret-journal", ".bin");
+        try {
+            try (SecretJournal journal = new SecretJournal(file)) {
+                Secret root = new Secret("Хранитель", "Текст секрета", RandomStrategy.threadLocal(), journal);
+                String longName = "ы".repeat(40_000);
+
+                assertThrows(IllegalArgumentException.class, () -> root.tellSecretTo(longName));
+                assertEquals(1, root.getTree().size());
+                root.tellSecretTo("Боб");
+            }
+            SecretJournalReader reader = new SecretJournalReader(file);
+            assertEquals(2, reader.size());
+            assertEquals("Боб", reader.entry(1).keeperName());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
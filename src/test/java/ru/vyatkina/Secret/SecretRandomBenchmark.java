@@ -0,0 +1,74 @@
+package ru.vyatkina.Secret;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vyatkina.Secret.Interfaces.RandomStrategy;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Пропускная способность передачи секрета при разных стратегиях случайности.
+ * "shared" - один java.util.Random на все потоки (прежнее поведение), остальные - генераторы на поток.
+ * Запуск для 1-32 потоков: mvn test-compile, затем
+ * java -cp target/test-classes:target/classes:&lt;jmh&gt; org.openjdk.jmh.Main SecretRandomBenchmark -t N
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecretRandomBenchmark {
+    /**
+     * Текст растет примерно на 5% за передачу, а вставки в него квадратичны по длине,
+     * поэтому короткая цепочка держит текст в пределах нескольких сотен символов
+     * и замер остается замером генератора, а не StringBuilder.insert.
+     */
+    private static final int CHAIN_LENGTH = 40;
+    private static final String TEXT = "Секрет средней длины, который искажается при каждой передаче";
+
+    @Param({"shared", "threadLocal", "splittable"})
+    public String strategy;
+
+    private RandomStrategy randomStrategy;
+
+    @Setup
+    public void setUp() {
+        randomStrategy = switch (strategy) {
+            case "shared" -> RandomStrategy.fixed(new Random(1));
+            case "threadLocal" -> RandomStrategy.threadLocal();
+            default -> RandomStrategy.splittable(1);
+        };
+    }
+
+    /**
+     * Цепочка одного потока; пересоздается каждые CHAIN_LENGTH передач, чтобы не росли
+     * ни текст секрета, ни дерево распространения.
+     */
+    @State(Scope.Thread)
+    public static class Chain {
+        Secret current;
+        int step;
+    }
+
+    @Benchmark
+    public Secret tellSecret(Chain chain) {
+        if (chain.current == null || chain.step == CHAIN_LENGTH) {
+            chain.current = new Secret("Хранитель", TEXT, randomStrategy);
+            chain.step = 0;
+        }
+        chain.current = chain.current.tellSecretTo("Хранитель " + chain.step++);
+        return chain.current;
+    }
+}